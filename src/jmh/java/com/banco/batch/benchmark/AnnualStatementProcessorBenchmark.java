@@ -0,0 +1,75 @@
+package com.banco.batch.benchmark;
+
+import com.banco.batch.model.Account;
+import com.banco.batch.model.AnnualStatement;
+import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.processor.AnnualStatementProcessor;
+import com.banco.batch.totals.AccountMonthlyTotalsTasklet;
+import com.banco.batch.writer.JdbcProcessedTransactionWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnnualStatementProcessor.process contra la H2 en memoria, con ~20 transacciones por cuenta
+ * ya resumidas en account_monthly_totals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnualStatementProcessorBenchmark {
+
+    private static final int TRANSACTIONS = BenchmarkFixtures.ACCOUNTS * 20;
+
+    private ConfigurableApplicationContext context;
+    private AnnualStatementProcessor processor;
+    private Account[] accounts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("annual_benchmark");
+        processor = new AnnualStatementProcessor(context.getBean(JdbcTemplate.class), 2025);
+        accounts = BenchmarkFixtures.accounts().toArray(new Account[0]);
+
+        List<ProcessedTransaction> transactions = BenchmarkFixtures.processedTransactions(TRANSACTIONS);
+        JdbcProcessedTransactionWriter writer = context.getBean(JdbcProcessedTransactionWriter.class);
+        AccountMonthlyTotalsTasklet totals = context.getBean(AccountMonthlyTotalsTasklet.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            writer.write(new Chunk<>(transactions));
+            transactions.stream().map(t -> YearMonth.from(t.getTxnDate().toLocalDate())).distinct().forEach(totals::rebuild);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AnnualStatement process() {
+        Account account = accounts[next];
+        next = next + 1 == accounts.length ? 0 : next + 1;
+        return processor.process(account);
+    }
+}
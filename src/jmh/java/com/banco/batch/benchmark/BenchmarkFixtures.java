@@ -0,0 +1,129 @@
+package com.banco.batch.benchmark;
+
+import com.banco.batch.BankBatchApplication;
+import com.banco.batch.model.Account;
+import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.repository.AccountRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Datos y contexto compartidos por los benchmarks. Los datos salen de una semilla fija
+ * para que los resultados sean comparables entre commits.
+ */
+final class BenchmarkFixtures {
+
+    static final int ACCOUNTS = 1_000;
+    private static final long SEED = 42L;
+    private static final String[] TIPOS = {"credito", "debito", "transferencia", "pago", "retiro", "deposito"};
+
+    private BenchmarkFixtures() { }
+
+    static List<Account> accounts() {
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            boolean loan = i % 4 == 0;
+            accounts.add(Account.builder()
+                    .id((long) i + 1)
+                    .accountNumber(String.valueOf(1000 + i))
+                    .type(loan ? "LOAN" : "SAVINGS")
+                    .balanceCents(loan ? -25_000_000L - i * 100L : 5_000_000L + i * 100L)
+                    .annualInterestRate(loan ? 0.12 : 0.03)
+                    .build());
+        }
+        return accounts;
+    }
+
+    /**
+     * Filas del CSV diario; anomalyPercent de ellas fallan alguna regla (cuenta, monto, fecha o tipo).
+     */
+    static List<TransactionRecord> transactionRecords(int count, int anomalyPercent) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<TransactionRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String account = String.valueOf(1000 + random.nextInt(ACCOUNTS));
+            String fecha = "2025-08-" + String.format("%02d", 1 + random.nextInt(28));
+            String monto = String.valueOf(1 + random.nextInt(100_000));
+            String tipo = TIPOS[random.nextInt(TIPOS.length)];
+            if (random.nextInt(100) < anomalyPercent) {
+                switch (i % 4) {
+                    case 0 -> account = "99" + account;
+                    case 1 -> monto = monto + "x";
+                    case 2 -> fecha = fecha.replace('-', '/');
+                    default -> tipo = "zzz";
+                }
+            }
+            records.add(TransactionRecord.builder().id(account).fecha(fecha).monto(monto).tipo(tipo).build());
+        }
+        return records;
+    }
+
+    static List<ProcessedTransaction> processedTransactions(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Date date = Date.valueOf(LocalDate.of(2025, 8, 1));
+        List<ProcessedTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(ProcessedTransaction.builder()
+                    .accountNumber(String.valueOf(1000 + random.nextInt(ACCOUNTS)))
+                    .txnDate(date)
+                    .amountCents((random.nextInt(200_000) - 100_000) * 100L)
+                    .category(TIPOS[random.nextInt(TIPOS.length)])
+                    .anomaly(false)
+                    .build());
+        }
+        return transactions;
+    }
+
+    static String csv(List<TransactionRecord> records) {
+        StringBuilder csv = new StringBuilder("id,fecha,monto,tipo\n");
+        for (TransactionRecord r : records) {
+            csv.append(r.getId()).append(',').append(r.getFecha()).append(',')
+                    .append(r.getMonto()).append(',').append(r.getTipo()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * AccountRepository en memoria: sólo findByAccountNumber, suficiente para DailyTransactionProcessor.
+     */
+    static AccountRepository inMemoryAccountRepository(List<Account> accounts) {
+        Map<String, Account> byNumber = new HashMap<>();
+        accounts.forEach(a -> byNumber.put(a.getAccountNumber(), a));
+        return (AccountRepository) Proxy.newProxyInstance(AccountRepository.class.getClassLoader(),
+                new Class<?>[] {AccountRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByAccountNumber")) {
+                        return Optional.ofNullable(byNumber.get((String) args[0]));
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(byNumber, args);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * La aplicación completa sobre una H2 en memoria propia, sin web ni logs de INFO.
+     * Se pasan como argumentos para que tengan prioridad sobre application.yml.
+     */
+    static ConfigurableApplicationContext startApplication(String database) {
+        return new SpringApplicationBuilder(BankBatchApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.batch.job.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.banco.batch=WARN",
+                        "--logging.level.org.springframework.batch=WARN");
+    }
+}
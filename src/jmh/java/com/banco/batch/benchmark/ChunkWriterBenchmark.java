@@ -0,0 +1,88 @@
+package com.banco.batch.benchmark;
+
+import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.writer.JdbcProcessedTransactionWriter;
+import com.banco.batch.writer.ProcessedTransactionWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura de un chunk de processed_transactions en su propia transacción, como en el step:
+ * writer JDBC en lote (jdbc) vs. repository.saveAll (jpa), con distintos tamaños de chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkWriterBenchmark {
+
+    @Param({"jdbc", "jpa"})
+    public String writer;
+
+    @Param({"50", "100", "500", "1000"})
+    public int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemWriter<ProcessedTransaction> itemWriter;
+    private TransactionTemplate transactionTemplate;
+    private Chunk<ProcessedTransaction> chunk;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("writer_benchmark");
+        itemWriter = "jdbc".equals(writer)
+                ? context.getBean(JdbcProcessedTransactionWriter.class)
+                : context.getBean(ProcessedTransactionWriter.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    /** Ítems nuevos (sin id) en cada escritura, como los que entrega el processor. */
+    @Setup(Level.Invocation)
+    public void newChunk() {
+        List<ProcessedTransaction> items = BenchmarkFixtures.processedTransactions(chunkSize);
+        chunk = new Chunk<>(items);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        context.getBean(JdbcTemplate.class).execute("TRUNCATE TABLE processed_transactions");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void write() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                itemWriter.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.banco.batch.benchmark;
+
+import com.banco.batch.anomaly.AnomalyAccumulator;
+import com.banco.batch.cache.AccountSnapshotCache;
+import com.banco.batch.cache.AccountSnapshotRegistry;
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.dedup.IngestedKeysRegistry;
+import com.banco.batch.dedup.TransactionDeduplicator;
+import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.processor.DailyTransactionProcessor;
+import com.banco.batch.processor.rules.TransactionRule;
+import com.banco.batch.repository.AccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DailyTransactionProcessor.process con distintas proporciones de filas anómalas.
+ * Las cuentas se resuelven en memoria y el log de anomalías está apagado, así que se mide
+ * sólo el pipeline de reglas y la construcción del ProcessedTransaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DailyTransactionProcessorBenchmark {
+
+    private static final int ROWS = 4096;
+
+    @Param({"0", "10", "50"})
+    public int anomalyPercent;
+
+    private DailyTransactionProcessor processor;
+    private TransactionRecord[] records;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getAnomalies().setLogFirst(0);
+        props.getAnomalies().setLogEvery(0);
+        AccountRepository accounts = BenchmarkFixtures.inMemoryAccountRepository(BenchmarkFixtures.accounts());
+        // Fuera de un step el snapshot de cuentas y el filtro de claves quedan inactivos
+        processor = new DailyTransactionProcessor(accounts,
+                new AccountSnapshotCache(accounts, null, props, new AccountSnapshotRegistry()),
+                new StaticListableBeanFactory().getBeanProvider(TransactionRule.class),
+                new AnomalyAccumulator(null, null, props),
+                new TransactionDeduplicator(null, props, new IngestedKeysRegistry()));
+        List<TransactionRecord> rows = BenchmarkFixtures.transactionRecords(ROWS, anomalyPercent);
+        records = rows.toArray(new TransactionRecord[0]);
+    }
+
+    @Benchmark
+    public ProcessedTransaction process() {
+        TransactionRecord record = records[next];
+        next = (next + 1) & (ROWS - 1);
+        return processor.process(record);
+    }
+}
@@ -0,0 +1,46 @@
+package com.banco.batch.benchmark;
+
+import com.banco.batch.model.Account;
+import com.banco.batch.model.InterestLedger;
+import com.banco.batch.processor.MonthlyInterestProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MonthlyInterestProcessor.process sobre cuentas de ahorro y préstamo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonthlyInterestProcessorBenchmark {
+
+    private MonthlyInterestProcessor processor;
+    private Account[] accounts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        processor = new MonthlyInterestProcessor("2025-08");
+        accounts = BenchmarkFixtures.accounts().toArray(new Account[0]);
+    }
+
+    @Benchmark
+    public InterestLedger process() {
+        Account account = accounts[next];
+        next = next + 1 == accounts.length ? 0 : next + 1;
+        return processor.process(account);
+    }
+}
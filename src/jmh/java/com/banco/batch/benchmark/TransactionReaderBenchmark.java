@@ -0,0 +1,101 @@
+package com.banco.batch.benchmark;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.reader.LegacyFileLocator;
+import com.banco.batch.reader.TransactionFlatFileReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lectura completa de un CSV diario de 100.000 filas con TransactionFlatFileReader:
+ * mapeado en memoria (mapped), FlatFileItemReader (flat) o .csv.gz (gzip).
+ * Se consumen los cuatro campos para forzar el decode de los registros perezosos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionReaderBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final String FILE = "transactions_2025-08-01.csv";
+
+    @Param({"mapped", "flat", "gzip"})
+    public String format;
+
+    private Path dir;
+    private TransactionFlatFileReader readerFactory;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("reader-benchmark");
+        byte[] csv = BenchmarkFixtures.csv(BenchmarkFixtures.transactionRecords(ROWS, 10))
+                .getBytes(StandardCharsets.UTF_8);
+        if ("gzip".equals(format)) {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(dir.resolve(FILE + ".gz")))) {
+                out.write(csv);
+            }
+        } else {
+            Files.write(dir.resolve(FILE), csv);
+        }
+
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getFiles().setInputDir(dir.toString());
+        props.getFiles().setMemoryMapped("mapped".equals(format));
+        props.getColumns().setId("id");
+        props.getColumns().setFecha("fecha");
+        props.getColumns().setMonto("monto");
+        props.getColumns().setTipo("tipo");
+        readerFactory = new TransactionFlatFileReader(props, new LegacyFileLocator(props));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int readAll(Blackhole blackhole) throws Exception {
+        ItemStreamReader<TransactionRecord> reader = readerFactory.open(FILE, true);
+        reader.open(new ExecutionContext());
+        int count = 0;
+        TransactionRecord record;
+        while ((record = reader.read()) != null) {
+            blackhole.consume(record.getId());
+            blackhole.consume(record.getFecha());
+            blackhole.consume(record.getMonto());
+            blackhole.consume(record.getTipo());
+            count++;
+        }
+        reader.close();
+        return count;
+    }
+}
@@ -0,0 +1,107 @@
+package com.banco.batch.loadtest;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource que mide el tiempo pasado dentro de execute*, executeBatch, commit y rollback
+ * y lo acumula por step execution (el step que corre en el hilo, vía StepSynchronizationManager).
+ * Las llamadas fuera de un step se acumulan en la clave -1.
+ */
+class JdbcTimingDataSource extends DelegatingDataSource {
+
+    static final long OUTSIDE_STEP = -1L;
+
+    private static final Set<String> TIMED_STATEMENT_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> TIMED_CONNECTION_METHODS = Set.of("commit", "rollback");
+
+    private final Map<Long, LongAdder> nanosByStep = new ConcurrentHashMap<>();
+
+    JdbcTimingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    /** Nanosegundos de BD acumulados por el step execution indicado. */
+    long nanos(long stepExecutionId) {
+        LongAdder adder = nanosByStep.get(stepExecutionId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = TIMED_CONNECTION_METHODS.contains(method.getName())
+                    ? timed(target, method, args)
+                    : invoke(target, method, args);
+            if (result instanceof Statement && method.getName().matches("prepareStatement|createStatement|prepareCall")) {
+                Class<? extends Statement> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return wrapStatement(type, (Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S wrapStatement(Class<S> type, Statement statement) {
+        return proxy(type, type.cast(statement), (target, method, args) ->
+                TIMED_STATEMENT_METHODS.contains(method.getName()) ? timed(target, method, args) : invoke(target, method, args));
+    }
+
+    private Object timed(Object target, Method method, Object[] args) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            nanosByStep.computeIfAbsent(currentStep(), id -> new LongAdder()).add(System.nanoTime() - start);
+        }
+    }
+
+    private static long currentStep() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context == null ? OUTSIDE_STEP : context.getStepExecution().getId();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
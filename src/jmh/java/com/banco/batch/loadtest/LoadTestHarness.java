@@ -0,0 +1,182 @@
+package com.banco.batch.loadtest;
+
+import com.banco.batch.BankBatchApplication;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prueba de carga de punta a punta: genera datos sintéticos, los carga y corre
+ * dailyTransactionsReportJob (o dailyTransactionsBackfillJob si hay más de un día),
+ * monthlyInterestJob y annualStatementJob. Reporta por step filas/s, heap pico del job
+ * y tiempo en la BD, por consola y en report.csv dentro del directorio de salida.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--transactions=1000000 --accounts=100000"
+ * </pre>
+ *
+ * Opciones (--clave=valor): accounts, transactions (total), days, start-date, anomaly-rate,
+ * annual-rows, seed, dir, interest-engine (jvm, sql o columnar), annual-engine (jvm o sql). Cualquier --spring.*, --legacy.* o --logging.* se pasa a la aplicación, p. ej.
+ * --spring.datasource.url=jdbc:mysql://localhost:3306/banco_batch para usar una BD local.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() { }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        // Argumentos de línea de comandos (no default properties) para que ganen sobre application.yml
+        Map<String, String> appArgs = new LinkedHashMap<>();
+        appArgs.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        appArgs.put("spring.batch.job.enabled", "false");
+        appArgs.put("logging.level.com.banco.batch", "WARN");
+        appArgs.put("logging.level.org.springframework.batch", "WARN");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opción no reconocida: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("spring.") || key.startsWith("legacy.") || key.startsWith("logging.")) {
+                appArgs.put(key, value);
+                if (key.equals("spring.profiles.active")) {
+                    // Los perfiles mysql/postgresql traen su propia URL
+                    appArgs.remove("spring.datasource.url");
+                }
+            } else {
+                options.put(key, value);
+            }
+        }
+        long accounts = Long.parseLong(options.getOrDefault("accounts", "100000"));
+        long transactions = Long.parseLong(options.getOrDefault("transactions", "1000000"));
+        int days = Integer.parseInt(options.getOrDefault("days", "1"));
+        LocalDate start = LocalDate.parse(options.getOrDefault("start-date", "2025-08-01"));
+        double anomalyRate = Double.parseDouble(options.getOrDefault("anomaly-rate", "0.05"));
+        long annualRows = Long.parseLong(options.getOrDefault("annual-rows", String.valueOf(transactions)));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String interestEngine = options.getOrDefault("interest-engine", "jvm");
+        String annualEngine = options.getOrDefault("annual-engine", "jvm");
+        Path dir = Path.of(options.getOrDefault("dir", "target/loadtest")).toAbsolutePath();
+        Files.createDirectories(dir);
+        appArgs.put("legacy.files.input-dir", dir.toString());
+
+        // 1. Datos sintéticos
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(accounts, anomalyRate, seed);
+        long t0 = System.nanoTime();
+        generator.writeDailyTransactions(dir, start, days, transactions / days);
+        generator.writeInterestCsv(dir.resolve("intereses.csv"));
+        generator.writeAnnualAccountsCsv(dir.resolve("cuentas_anuales.csv"), start.getYear(), annualRows);
+        generator.writeAccountsSql(dir.resolve("accounts.sql"));
+        System.out.printf(Locale.ROOT, "Generated %,d accounts and %,d transactions in %s in %.1fs%n",
+                accounts, transactions, dir, (System.nanoTime() - t0) / 1e9);
+
+        // 2. Aplicación con un DataSource que mide el tiempo de BD por step
+        JdbcTimingDataSource[] timing = new JdbcTimingDataSource[1];
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BankBatchApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        if (bean instanceof DataSource dataSource && !(bean instanceof JdbcTimingDataSource)
+                                && "dataSource".equals(beanName)) {
+                            timing[0] = new JdbcTimingDataSource(dataSource);
+                            return timing[0];
+                        }
+                        return bean;
+                    }
+                }))
+                .run(appArgs.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new))) {
+
+            long loadStart = System.nanoTime();
+            generator.insertAccounts(context.getBean(JdbcTemplate.class));
+            System.out.printf(Locale.ROOT, "Loaded %,d accounts in %.1fs%n", accounts, (System.nanoTime() - loadStart) / 1e9);
+
+            JobLauncher launcher = context.getBean(JobLauncher.class);
+            List<String[]> report = new ArrayList<>();
+            if (days == 1) {
+                run(context, launcher, timing[0], report, "dailyTransactionsReportJob", new JobParametersBuilder()
+                        .addString("run.date", start.toString()));
+            } else {
+                run(context, launcher, timing[0], report, "dailyTransactionsBackfillJob", new JobParametersBuilder()
+                        .addString("run.from", start.toString())
+                        .addString("run.to", start.plusDays(days - 1L).toString()));
+            }
+            run(context, launcher, timing[0], report, "monthlyInterestJob", new JobParametersBuilder()
+                    .addString("run.period", start.toString().substring(0, 7))
+                    .addString("run.engine", interestEngine));
+            run(context, launcher, timing[0], report, "annualStatementJob", new JobParametersBuilder()
+                    .addString("run.year", String.valueOf(start.getYear()))
+                    .addString("run.engine", annualEngine));
+
+            print(report, dir.resolve("report.csv"));
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, JobLauncher launcher, JdbcTimingDataSource timing,
+                            List<String[]> report, String jobName, JobParametersBuilder parameters) throws Exception {
+        Job job = context.getBean(jobName, Job.class);
+        JobParameters params = parameters.addLong("ts", System.currentTimeMillis()).toJobParameters();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        JobExecution execution = launcher.run(job, params);
+
+        long peakHeapMb = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / (1024 * 1024);
+        execution.getStepExecutions().stream()
+                .sorted(Comparator.comparing(StepExecution::getStepName))
+                .forEach(step -> {
+                    double seconds = step.getStartTime() == null || step.getEndTime() == null ? 0
+                            : Duration.between(step.getStartTime(), step.getEndTime()).toNanos() / 1e9;
+                    report.add(new String[] {
+                            jobName,
+                            step.getStepName(),
+                            step.getStatus().toString(),
+                            String.valueOf(step.getReadCount()),
+                            String.valueOf(step.getWriteCount()),
+                            String.format(Locale.ROOT, "%.3f", seconds),
+                            String.format(Locale.ROOT, "%.0f", seconds > 0 ? step.getWriteCount() / seconds : 0),
+                            String.format(Locale.ROOT, "%.3f", timing.nanos(step.getId()) / 1e9),
+                            String.valueOf(peakHeapMb)});
+                });
+    }
+
+    private static void print(List<String[]> report, Path csv) throws IOException {
+        String[] header = {"job", "step", "status", "read", "written", "seconds", "rows_per_sec", "db_seconds", "peak_heap_mb"};
+        String format = "%-30s %-62s %-10s %12s %12s %10s %12s %10s %12s%n";
+        System.out.printf(format, (Object[]) header);
+        report.forEach(row -> System.out.printf(format, (Object[]) row));
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+            out.println(String.join(",", header));
+            report.forEach(row -> out.println(String.join(",", row)));
+        }
+        System.out.println("Report written to " + csv);
+    }
+}
@@ -0,0 +1,183 @@
+package com.banco.batch.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista (misma semilla = mismos archivos) de datos sintéticos a escala:
+ * cuentas (equivalente a db/migration/h2/V3__demo_accounts.sql), CSV diarios transactions_<fecha>.csv, intereses.csv y
+ * cuentas_anuales.csv con los formatos del sistema legacy. Escribe en streaming, así que
+ * sirve para 1M-100M filas sin cargar nada en memoria.
+ */
+public class SyntheticDataGenerator {
+
+    static final long FIRST_ACCOUNT = 1_000_000L;
+
+    private static final String[] TIPOS = {"credito", "debito", "transferencia", "pago", "retiro", "deposito"};
+    private static final String[] NOMBRES = {"Ana", "Luis", "María", "Jorge", "Carmen", "Pedro", "Lucía", "Diego"};
+    private static final String[] APELLIDOS = {"González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Silva", "Torres"};
+    private static final int INSERT_BATCH = 1_000;
+
+    private final long accounts;
+    private final double anomalyRate;
+    private final long seed;
+
+    public SyntheticDataGenerator(long accounts, double anomalyRate, long seed) {
+        this.accounts = accounts;
+        this.anomalyRate = anomalyRate;
+        this.seed = seed;
+    }
+
+    /**
+     * Script INSERT de cuentas con el mismo formato que V3__demo_accounts.sql, en lotes de 1000 filas.
+     */
+    public void writeAccountsSql(Path file) throws IOException {
+        try (Writer out = writer(file)) {
+            forEachAccount((number, type, balance, rate) -> {
+                long index = Long.parseLong(number) - FIRST_ACCOUNT;
+                out.write(index % INSERT_BATCH == 0
+                        ? (index == 0 ? "" : ";\n") + "INSERT INTO accounts (account_number, type, balance, annual_interest_rate) VALUES\n "
+                        : ",\n ");
+                out.write("('" + number + "','" + type + "', " + balance + ", " + rate + ")");
+            });
+            if (accounts > 0) {
+                out.write(";\n");
+            }
+        }
+    }
+
+    /**
+     * Inserta las cuentas directamente por JDBC en lotes (más rápido que ejecutar el script).
+     */
+    public void insertAccounts(JdbcTemplate jdbcTemplate) throws IOException {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        String sql = "INSERT INTO accounts (account_number, type, balance, annual_interest_rate) VALUES (?, ?, ?, ?)";
+        forEachAccount((number, type, balance, rate) -> {
+            batch.add(new Object[] {number, type, balance, rate});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    /**
+     * Un transactions_<fecha>.csv por día a partir de start, con rowsPerDay filas cada uno.
+     *
+     * @return nombres de los archivos generados.
+     */
+    public List<String> writeDailyTransactions(Path dir, LocalDate start, int days, long rowsPerDay) throws IOException {
+        List<String> fileNames = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            LocalDate day = start.plusDays(d);
+            String fileName = "transactions_" + day + ".csv";
+            SplittableRandom random = new SplittableRandom(seed + day.toEpochDay());
+            try (Writer out = writer(dir.resolve(fileName))) {
+                out.write("id,fecha,monto,tipo\n");
+                for (long i = 0; i < rowsPerDay; i++) {
+                    String account = String.valueOf(FIRST_ACCOUNT + random.nextLong(accounts));
+                    String fecha = day.toString();
+                    String monto = amount(random);
+                    String tipo = TIPOS[random.nextInt(TIPOS.length)];
+                    if (random.nextDouble() < anomalyRate) {
+                        switch (random.nextInt(5)) {
+                            case 0 -> account = "9" + account;
+                            case 1 -> monto = monto + "x";
+                            case 2 -> fecha = fecha.replace('-', '/');
+                            case 3 -> tipo = "desconocido";
+                            default -> monto = "";
+                        }
+                    }
+                    out.write(account);
+                    out.write(',');
+                    out.write(fecha);
+                    out.write(',');
+                    out.write(monto);
+                    out.write(',');
+                    out.write(tipo);
+                    out.write('\n');
+                }
+            }
+            fileNames.add(fileName);
+        }
+        return fileNames;
+    }
+
+    /** intereses.csv: cuenta_id,nombre,saldo,edad,tipo (una fila por cuenta). */
+    public void writeInterestCsv(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x1E7E5E5L);
+        try (Writer out = writer(file)) {
+            out.write("cuenta_id,nombre,saldo,edad,tipo\n");
+            forEachAccount((number, type, balance, rate) -> {
+                String tipo = "LOAN".equals(type) ? (random.nextInt(3) == 0 ? "hipoteca" : "prestamo") : "ahorro";
+                String saldo = random.nextDouble() < anomalyRate ? "N/A" : balance.abs().toPlainString();
+                out.write(number + "," + NOMBRES[random.nextInt(NOMBRES.length)] + " "
+                        + APELLIDOS[random.nextInt(APELLIDOS.length)] + "," + saldo + ","
+                        + (18 + random.nextInt(70)) + "," + tipo + "\n");
+            });
+        }
+    }
+
+    /** cuentas_anuales.csv: cuenta_id,fecha,transaccion,monto,descripcion. */
+    public void writeAnnualAccountsCsv(Path file, int year, long rows) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ year);
+        LocalDate first = LocalDate.of(year, 1, 1);
+        int daysInYear = first.lengthOfYear();
+        try (Writer out = writer(file)) {
+            out.write("cuenta_id,fecha,transaccion,monto,descripcion\n");
+            for (long i = 0; i < rows; i++) {
+                boolean deposit = random.nextBoolean();
+                String fecha = first.plusDays(random.nextInt(daysInYear)).toString();
+                if (random.nextDouble() < anomalyRate) {
+                    fecha = fecha.replace('-', '/');
+                }
+                long cents = 100 + random.nextLong(1_000_000);
+                out.write((FIRST_ACCOUNT + random.nextLong(accounts)) + "," + fecha + ","
+                        + (deposit ? "deposito" : "retiro") + ","
+                        + (deposit ? "" : "-") + BigDecimal.valueOf(cents, 2).toPlainString() + ","
+                        + (deposit ? "Ingreso mensual" : "Retiro parcial") + "\n");
+            }
+        }
+    }
+
+    private void forEachAccount(AccountConsumer consumer) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (long i = 0; i < accounts; i++) {
+            boolean loan = random.nextInt(4) == 0;
+            long cents = 1_000_00 + random.nextLong(1_000_000_00L);
+            BigDecimal balance = BigDecimal.valueOf(loan ? -cents : cents, 2);
+            BigDecimal rate = BigDecimal.valueOf(loan ? 900 + random.nextInt(600) : 100 + random.nextInt(300), 4)
+                    .setScale(4, RoundingMode.UNNECESSARY);
+            consumer.accept(String.valueOf(FIRST_ACCOUNT + i), loan ? "LOAN" : "SAVINGS", balance, rate);
+        }
+    }
+
+    private static String amount(SplittableRandom random) {
+        long cents = 100 + random.nextLong(500_000_00L);
+        return BigDecimal.valueOf(random.nextInt(3) == 0 ? -cents : cents, 2).toPlainString();
+    }
+
+    private static Writer writer(Path file) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    @FunctionalInterface
+    private interface AccountConsumer {
+        void accept(String number, String type, BigDecimal balance, BigDecimal rate) throws IOException;
+    }
+}
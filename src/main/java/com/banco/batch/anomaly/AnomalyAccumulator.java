@@ -0,0 +1,132 @@
+package com.banco.batch.anomaly;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.id.IdBlockAllocator;
+import com.banco.batch.processor.rules.TransactionCheck;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Contadores de anomalías por step, por regla (mensaje) y por tipo de transacción, sin locks
+ * en el camino de cada fila. Reemplaza el log.warn por fila: se loguean las primeras
+ * legacy.anomalies.log-first de cada regla y después una de cada log-every.
+ * En afterStep deja el resumen en el ExecutionContext (anomalies.*) y en la tabla anomaly_summary.
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class AnomalyAccumulator implements StepExecutionListener {
+
+    static final String TABLE = "anomaly_summary";
+    static final String INSERT_SQL = "INSERT INTO anomaly_summary "
+            + "(id, job_execution_id, step_name, dimension, anomaly_key, occurrences) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /** Claves distintas por dimensión; las demás se agrupan en OTHER_KEY (tipos/mensajes arbitrarios). */
+    static final int MAX_KEYS = 64;
+    static final String OTHER_KEY = "(otros)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final LegacyCsvProperties props;
+
+    private final Map<String, AtomicLong> byRule = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byTipo = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder suppressedLogs = new LongAdder();
+
+    /**
+     * Cuenta una fila anómala y la loguea si le toca según el muestreo.
+     */
+    public void record(TransactionCheck check) {
+        total.increment();
+        counter(byTipo, check.getTipo() == null ? "unknown" : check.getTipo(), LongAdder::new).increment();
+
+        LegacyCsvProperties.Anomalies cfg = props.getAnomalies();
+        boolean sampled = false;
+        for (String failure : check.getFailures()) {
+            long occurrence = counter(byRule, failure, AtomicLong::new).incrementAndGet();
+            sampled |= occurrence <= cfg.getLogFirst()
+                    || (cfg.getLogEvery() > 0 && occurrence % cfg.getLogEvery() == 0);
+        }
+        if (sampled) {
+            log.warn("Transaction anomaly detected for account {}: {}", check.getAccountNumber(), check.message());
+        } else {
+            suppressedLogs.increment();
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Map<String, Long> rules = snapshot(byRule, AtomicLong::get);
+        Map<String, Long> tipos = snapshot(byTipo, LongAdder::sum);
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putLong("anomalies.total", total.sum());
+        context.putLong("anomalies.logsSuppressed", suppressedLogs.sum());
+        context.put("anomalies.byRule", new HashMap<>(rules));
+        context.put("anomalies.byTipo", new HashMap<>(tipos));
+
+        if (total.sum() > 0) {
+            log.info("Anomaly summary for {}: total={}, byRule={}, byTipo={}, logsSuppressed={}",
+                    stepExecution.getStepName(), total.sum(), rules, tipos, suppressedLogs.sum());
+            if (props.getAnomalies().isPersistSummary()) {
+                persist(stepExecution, rules, tipos);
+            }
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    private void persist(StepExecution stepExecution, Map<String, Long> rules, Map<String, Long> tipos) {
+        List<Object[]> rows = new ArrayList<>(rules.size() + tipos.size());
+        rules.forEach((key, count) -> rows.add(row(stepExecution, "RULE", key, count)));
+        tipos.forEach((key, count) -> rows.add(row(stepExecution, "TIPO", key, count)));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private Object[] row(StepExecution stepExecution, String dimension, String key, long count) {
+        return new Object[] {idAllocator.next(TABLE), stepExecution.getJobExecutionId(),
+                stepExecution.getStepName(), dimension, key, count};
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getSuppressedLogs() {
+        return suppressedLogs.sum();
+    }
+
+    private static <C> C counter(Map<String, C> counters, String key, Supplier<C> factory) {
+        C counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        String effectiveKey = counters.size() >= MAX_KEYS ? OTHER_KEY : key;
+        return counters.computeIfAbsent(effectiveKey, k -> factory.get());
+    }
+
+    private static <C> Map<String, Long> snapshot(Map<String, C> counters, ToLongFunction<C> value) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, counter) -> result.put(key, value.applyAsLong(counter)));
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.banco.batch.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabla compacta número de cuenta -> (tipo, saldo en centavos) con direccionamiento abierto.
+ * Guarda los datos en arreglos primitivos paralelos (sin entidades ni boxing) y
+ * codifica el tipo de cuenta con un diccionario de un byte.
+ * No es thread-safe para escritura; una vez construida se puede leer concurrentemente.
+ */
+public final class AccountSnapshot {
+
+    /** Estimación de bytes por cuenta (clave String + slots de los arreglos al 50% de carga). */
+    public static final int ESTIMATED_BYTES_PER_ACCOUNT = 96;
+
+    private static final int MAX_TYPES = 127;
+
+    private String[] keys;
+    private byte[] typeCodes;
+    private long[] balances;
+    private int mask;
+    private int size;
+
+    private final List<String> typeDictionary = new ArrayList<>();
+
+    public AccountSnapshot(int expectedAccounts) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedAccounts) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        typeCodes = new byte[capacity];
+        balances = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    public void put(String accountNumber, String type, long balanceCents) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        int slot = probe(accountNumber);
+        if (keys[slot] == null) {
+            keys[slot] = accountNumber;
+            size++;
+        }
+        typeCodes[slot] = encodeType(type);
+        balances[slot] = balanceCents;
+    }
+
+    /**
+     * @return slot de la cuenta o -1 si no existe en el snapshot.
+     */
+    public int slotOf(String accountNumber) {
+        int slot = probe(accountNumber);
+        return keys[slot] == null ? -1 : slot;
+    }
+
+    public String typeAt(int slot) {
+        return typeDictionary.get(typeCodes[slot]);
+    }
+
+    public long balanceAt(int slot) {
+        return balances[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private int probe(String accountNumber) {
+        int slot = mix(accountNumber.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(accountNumber)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private byte encodeType(String type) {
+        int code = typeDictionary.indexOf(type);
+        if (code < 0) {
+            if (typeDictionary.size() >= MAX_TYPES) {
+                throw new IllegalStateException("Demasiados tipos de cuenta distintos para el snapshot: " + type);
+            }
+            typeDictionary.add(type);
+            code = typeDictionary.size() - 1;
+        }
+        return (byte) code;
+    }
+
+    private void rehash(int newCapacity) {
+        String[] oldKeys = keys;
+        byte[] oldTypes = typeCodes;
+        long[] oldBalances = balances;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = probe(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                typeCodes[slot] = oldTypes[i];
+                balances[slot] = oldBalances[i];
+            }
+        }
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+}
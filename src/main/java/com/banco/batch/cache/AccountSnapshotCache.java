@@ -0,0 +1,186 @@
+package com.banco.batch.cache;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.Account;
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.money.Money;
+import com.banco.batch.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Snapshot de cuentas por step: se carga una sola vez en beforeStep para que
+ * DailyTransactionProcessor no consulte la BD por cada fila del CSV. Los steps de una
+ * misma JobExecution (particiones) comparten el snapshot vía AccountSnapshotRegistry.
+ * Si la tabla accounts no cabe en legacy.account-cache.max-memory-mb, cambia a
+ * modo "por chunk": junta los números de cuenta leídos y los resuelve con
+ * consultas IN (...) en lotes de legacy.account-cache.lookup-batch-size.
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class AccountSnapshotCache implements StepExecutionListener, ChunkListener, ItemReadListener<TransactionRecord> {
+
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LegacyCsvProperties props;
+    private final AccountSnapshotRegistry registry;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder dbQueries = new LongAdder();
+
+    /** Snapshot completo (modo precargado) o null si se usa el modo por chunk. */
+    private volatile AccountSnapshot snapshot;
+    private volatile boolean active;
+    private long jobExecutionId;
+
+    /** Página por hilo del modo por chunk: cada chunk lo procesa un único hilo. */
+    private final ThreadLocal<ChunkPage> pages = ThreadLocal.withInitial(ChunkPage::new);
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!props.getAccountCache().isEnabled()) {
+            return;
+        }
+        jobExecutionId = stepExecution.getJobExecutionId();
+        snapshot = registry.acquire(jobExecutionId, this::loadSnapshot);
+        active = true;
+    }
+
+    private AccountSnapshot loadSnapshot() {
+        LegacyCsvProperties.AccountCache cfg = props.getAccountCache();
+        long accounts = accountRepository.count();
+        long estimatedBytes = accounts * AccountSnapshot.ESTIMATED_BYTES_PER_ACCOUNT;
+        long ceiling = cfg.getMaxMemoryMb() * 1024L * 1024L;
+        if (estimatedBytes > ceiling) {
+            log.info("Account table too large for snapshot ({} accounts, ~{} MB > {} MB); using batched IN lookups",
+                    accounts, estimatedBytes / (1024 * 1024), cfg.getMaxMemoryMb());
+            return null;
+        }
+        AccountSnapshot full = new AccountSnapshot((int) accounts);
+        jdbcTemplate.query("SELECT account_number, type, balance FROM accounts", rs -> {
+            full.put(rs.getString(1), rs.getString(2), Money.toCents(rs.getBigDecimal(3)));
+        });
+        dbQueries.increment();
+        log.info("Account snapshot loaded: {} accounts (~{} KB)", full.size(), estimatedBytes / 1024);
+        return full;
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (active) {
+            stepExecution.getExecutionContext().putLong("accountCache.hits", hits.sum());
+            stepExecution.getExecutionContext().putLong("accountCache.misses", misses.sum());
+            stepExecution.getExecutionContext().putLong("accountCache.dbQueries", dbQueries.sum());
+            log.info("Account cache stats: hits={}, misses={}, dbQueries={}", hits.sum(), misses.sum(), dbQueries.sum());
+            registry.release(jobExecutionId);
+        }
+        snapshot = null;
+        active = false;
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        if (active && snapshot == null) {
+            pages.get().reset();
+        }
+    }
+
+    @Override
+    public void afterRead(TransactionRecord item) {
+        if (active && snapshot == null && item.getAccountNumber() != null && !item.getAccountNumber().isBlank()) {
+            pages.get().pending.add(item.getAccountNumber().trim());
+        }
+    }
+
+    /**
+     * @return true si el cache está cargado para el step en curso.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Busca la cuenta y devuelve la tabla donde quedó resuelta (leer con slotOf/typeAt/balanceAt),
+     * o null si la cuenta no existe.
+     */
+    public AccountSnapshot resolve(String accountNumber) {
+        AccountSnapshot table = snapshot;
+        if (table == null) {
+            table = pages.get().resolve(accountNumber);
+        }
+        if (table.slotOf(accountNumber) >= 0) {
+            hits.increment();
+            return table;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getDbQueries() {
+        return dbQueries.sum();
+    }
+
+    /**
+     * Cuentas del chunk en curso, resueltas en lotes IN (...) la primera vez que se piden.
+     */
+    private final class ChunkPage {
+        private final Set<String> pending = new HashSet<>();
+        private final Set<String> queried = new HashSet<>();
+        private final AccountSnapshot table = new AccountSnapshot(props.getAccountCache().getLookupBatchSize());
+
+        void reset() {
+            pending.clear();
+            queried.clear();
+            table.clear();
+        }
+
+        AccountSnapshot resolve(String accountNumber) {
+            if (!queried.contains(accountNumber)) {
+                pending.add(accountNumber);
+                pending.removeAll(queried);
+                load(new ArrayList<>(pending));
+                queried.addAll(pending);
+                pending.clear();
+            }
+            return table;
+        }
+
+        private void load(List<String> numbers) {
+            int batchSize = Math.max(1, props.getAccountCache().getLookupBatchSize());
+            for (int from = 0; from < numbers.size(); from += batchSize) {
+                List<String> batch = numbers.subList(from, Math.min(numbers.size(), from + batchSize));
+                for (Account acc : accountRepository.findByAccountNumberIn(batch)) {
+                    table.put(acc.getAccountNumber(), acc.getType(), acc.getBalanceCents());
+                }
+                dbQueries.increment();
+            }
+        }
+    }
+}
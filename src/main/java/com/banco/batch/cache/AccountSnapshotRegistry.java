@@ -0,0 +1,42 @@
+package com.banco.batch.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Comparte un único snapshot de cuentas entre los steps concurrentes de una misma
+ * JobExecution (p. ej. particiones), para no cargar una copia por worker.
+ * Se libera cuando termina el último step que lo adquirió.
+ */
+@Component
+public class AccountSnapshotRegistry {
+
+    private final Map<Long, Holder> byJobExecution = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader se invoca sólo la primera vez; puede devolver null (modo por chunk).
+     */
+    public AccountSnapshot acquire(long jobExecutionId, Supplier<AccountSnapshot> loader) {
+        return byJobExecution.compute(jobExecutionId, (id, holder) -> {
+            Holder h = holder != null ? holder : new Holder(loader.get());
+            h.references++;
+            return h;
+        }).snapshot;
+    }
+
+    public void release(long jobExecutionId) {
+        byJobExecution.computeIfPresent(jobExecutionId, (id, holder) -> --holder.references == 0 ? null : holder);
+    }
+
+    private static final class Holder {
+        private final AccountSnapshot snapshot;
+        private int references;
+
+        private Holder(AccountSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
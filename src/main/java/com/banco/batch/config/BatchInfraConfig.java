@@ -1,10 +1,72 @@
 package com.banco.batch.config;
 
+import com.banco.batch.id.BlockIdGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Ancla de configuración. Spring Boot autoconfigura JobRepository y
  * PlatformTransactionManager basados en la DataSource/JPA.
  */
 @Configuration
-public class BatchInfraConfig { }
+public class BatchInfraConfig {
+
+    /**
+     * Executor acotado para el modo paralelo de dailyTransactionsStep (legacy.parallel.*).
+     * Los hilos se crean bajo demanda, así que no cuesta nada si el modo está apagado.
+     */
+    @Bean
+    public TaskExecutor dailyTransactionsTaskExecutor(LegacyCsvProperties legacyProps) {
+        int threads = legacyProps.getParallel().resolveThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads);
+        executor.setThreadNamePrefix("daily-tx-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Executor de los workers de steps particionados (legacy.partition.*).
+     * Cola sin límite: la cantidad de particiones ya está acotada por gridSize.
+     */
+    @Bean
+    public TaskExecutor partitionTaskExecutor(LegacyCsvProperties legacyProps) {
+        int threads = legacyProps.getPartition().resolveGridSize();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Executor de los jobs lanzados con async=true (legacy.launcher.*): acotado en hilos y en
+     * cola, para que una ráfaga de pedidos no acumule jobs sin límite.
+     */
+    @Bean
+    public TaskExecutor jobLaunchTaskExecutor(LegacyCsvProperties legacyProps) {
+        LegacyCsvProperties.Launcher launcher = legacyProps.getLauncher();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(launcher.getThreads());
+        executor.setMaxPoolSize(launcher.getThreads());
+        executor.setQueueCapacity(launcher.getQueueCapacity());
+        executor.setThreadNamePrefix("job-launch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Pasa legacy.ids.block-size a BlockIdGenerator para que Hibernate y los writers JDBC
+     * reserven bloques del mismo tamaño.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer blockIdHibernateProperties(LegacyCsvProperties legacyProps) {
+        return properties -> properties.put(BlockIdGenerator.BLOCK_SIZE_SETTING, legacyProps.getIds().getBlockSize());
+    }
+}
@@ -1,54 +1,114 @@
 package com.banco.batch.config;
 
+import com.banco.batch.metrics.StepMetricsListener;
 import com.banco.batch.model.Account;
 import com.banco.batch.model.AnnualStatement;
 import com.banco.batch.processor.AnnualStatementProcessor;
-import com.banco.batch.repository.AccountRepository;
+import com.banco.batch.reader.AccountPagingReader;
+import com.banco.batch.reader.AnnualAggregateReader;
 import com.banco.batch.writer.AnnualStatementWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.DefaultJobParametersValidator;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
 
+/**
+ * Job 3: Estados de cuenta anuales del año run.year. El parámetro run.engine elige el motor:
+ * "jvm" (por defecto, AnnualStatementProcessor lee los hasta 12 meses de account_monthly_totals de
+ * cada cuenta) o "sql" (una sola consulta agregada sobre account_monthly_totals, ver AnnualAggregateReader).
+ */
 @Configuration
 @RequiredArgsConstructor
 public class JobAnnualStatementConfig {
 
-    private final AccountRepository accountRepository;
+    private final AccountPagingReader accountReader;
+    private final AnnualAggregateReader aggregateReader;
     private final AnnualStatementProcessor processor;
     private final AnnualStatementWriter writer;
+    private final StepMetricsListener stepMetrics;
 
+    /**
+     * Cuentas por páginas de legacy.account-reader.fetch-size, reiniciable desde el último id.
+     */
     @Bean
     @StepScope
-    public ListItemReader<Account> accountReaderForAnnual() {
-        return new ListItemReader<>(accountRepository.findAll());
+    public JdbcPagingItemReader<Account> accountReaderForAnnual() throws Exception {
+        return accountReader.build("accountReaderForAnnual");
+    }
+
+    /**
+     * Totales del año por cuenta en una sola consulta agregada, leída con cursor.
+     */
+    @Bean
+    @StepScope
+    public JdbcCursorItemReader<AnnualStatement> aggregateReaderForAnnual(
+            @Value("#{jobParameters['run.year']}") int year) {
+        return aggregateReader.build("aggregateReaderForAnnual", year);
     }
 
     @Bean
     public Step annualStatementStep(JobRepository jobRepository,
                                     PlatformTransactionManager txManager,
-                                    @Qualifier("accountReaderForAnnual") ListItemReader<Account> accountReaderForAnnual) {
+                                    @Qualifier("accountReaderForAnnual") JdbcPagingItemReader<Account> accountReaderForAnnual) {
         return new StepBuilder("annualStatementStep", jobRepository)
                 .<Account, AnnualStatement>chunk(50, txManager)
                 .reader(accountReaderForAnnual)
                 .processor(processor)
                 .writer(writer)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics)
+                .build();
+    }
+
+    /**
+     * Motor "sql": el reader ya entrega los AnnualStatement, sin processor.
+     */
+    @Bean
+    public Step annualStatementAggregateStep(JobRepository jobRepository,
+                                             PlatformTransactionManager txManager,
+                                             @Qualifier("aggregateReaderForAnnual") JdbcCursorItemReader<AnnualStatement> aggregateReaderForAnnual) {
+        return new StepBuilder("annualStatementAggregateStep", jobRepository)
+                .<AnnualStatement, AnnualStatement>chunk(50, txManager)
+                .reader(aggregateReaderForAnnual)
+                .writer(writer)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics)
                 .build();
     }
 
+    @Bean
+    public JobExecutionDecider annualStatementEngineDecider() {
+        return (jobExecution, stepExecution) -> new FlowExecutionStatus(
+                JobMonthlyInterestConfig.ENGINE_SQL.equalsIgnoreCase(jobExecution.getJobParameters().getString("run.engine"))
+                        ? "SQL" : "JVM");
+    }
+
     @Bean
     public Job annualStatementJob(JobRepository jobRepository,
-                                  @Qualifier("annualStatementStep") Step annualStatementStep) {
+                                  @Qualifier("annualStatementStep") Step annualStatementStep,
+                                  @Qualifier("annualStatementAggregateStep") Step annualStatementAggregateStep,
+                                  @Qualifier("annualStatementEngineDecider") JobExecutionDecider engineDecider) {
         return new JobBuilder("annualStatementJob", jobRepository)
-                .start(annualStatementStep)
+                .validator(new DefaultJobParametersValidator(new String[] {"run.year"}, new String[0]))
+                .start(engineDecider)
+                .on("SQL").to(annualStatementAggregateStep)
+                .from(engineDecider).on("*").to(annualStatementStep)
+                .end()
                 .build();
     }
 }
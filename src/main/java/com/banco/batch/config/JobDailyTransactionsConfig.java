@@ -1,24 +1,58 @@
 package com.banco.batch.config;
 
+import com.banco.batch.anomaly.AnomalyAccumulator;
+import com.banco.batch.cache.AccountSnapshotCache;
+import com.banco.batch.dedup.TransactionDeduplicator;
+import com.banco.batch.metrics.StepMetricsListener;
+import com.banco.batch.migration.ProcessedTransactionPartitions;
 import com.banco.batch.model.ProcessedTransaction;
 import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.partition.DailyFilesPartitioner;
+import com.banco.batch.partition.TransactionFileRangePartitioner;
 import com.banco.batch.processor.DailyTransactionProcessor;
+import com.banco.batch.reader.LegacyFileLocator;
+import com.banco.batch.reader.MappedTransactionReader;
 import com.banco.batch.reader.TransactionFlatFileReader;
+import com.banco.batch.totals.AccountMonthlyTotalsTasklet;
+import com.banco.batch.totals.IngestedMonthsTracker;
+import com.banco.batch.totals.MonthlyTotalsDeltas;
+import com.banco.batch.writer.JdbcProcessedTransactionWriter;
 import com.banco.batch.writer.ProcessedTransactionWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.JobParametersValidator;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.support.builder.SynchronizedItemStreamReaderBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
 /**
  * Job 1: Reporte de Transacciones Diarias.
  */
@@ -26,41 +60,263 @@ import org.springframework.transaction.PlatformTransactionManager;
 @RequiredArgsConstructor
 public class JobDailyTransactionsConfig {
 
+    /** Marca en el ExecutionContext de un step leído en modo paralelo (lector sin posición). */
+    static final String UNORDERED_READ_KEY = "transactionReader.unordered";
+
     private final TransactionFlatFileReader readerFactory;
     private final DailyTransactionProcessor processor;
     private final ProcessedTransactionWriter writer;
+    private final JdbcProcessedTransactionWriter jdbcWriter;
     private final LegacyCsvProperties legacyProps;
+    private final AccountSnapshotCache accountCache;
+    private final LegacyFileLocator fileLocator;
+    private final AnomalyAccumulator anomalyAccumulator;
+    private final TransactionDeduplicator deduplicator;
+    private final StepMetricsListener stepMetrics;
+    private final IngestedMonthsTracker ingestedMonths;
+    private final MonthlyTotalsDeltas monthlyTotalsDeltas;
+    private final ProcessedTransactionPartitions partitions;
 
+    /**
+     * En modo paralelo el orden de lectura no es determinista y el lector no guarda posición: un
+     * restart relee el archivo desde el inicio y sólo la deduplicación (legacy.dedup.enabled)
+     * descarta las filas que confirmó la ejecución fallida. Sin ella, el restart se rechaza.
+     */
     @Bean
     @StepScope
-    public FlatFileItemReader<TransactionRecord> transactionsReader(
-            @Value("#{jobParameters['run.date']}") String date) {
-        String fileName = (date != null && !date.isBlank())
-                ? "transactions_" + date + ".csv"
-                : legacyProps.getFiles().getDailyTransactionsFile();
-        return readerFactory.build(fileName);
+    public ItemStreamReader<TransactionRecord> transactionsReader(
+            @Value("#{jobParameters['run.date']}") String date,
+            @Value("#{stepExecution}") StepExecution stepExecution) throws IOException {
+        if (!legacyProps.getParallel().isEnabled()) {
+            return readerFactory.open(dailyFileName(date), true);
+        }
+        ExecutionContext context = stepExecution.getExecutionContext();
+        if (context.containsKey(UNORDERED_READ_KEY) && !legacyProps.getDedup().isEnabled()) {
+            throw new IllegalStateException("No se puede reiniciar " + stepExecution.getStepName()
+                    + " en modo paralelo sin legacy.dedup.enabled: se volverían a escribir las filas ya confirmadas");
+        }
+        context.putString(UNORDERED_READ_KEY, "true");
+        return readerFactory.open(dailyFileName(date), false);
     }
 
     @Bean
+    @StepScope
+    public MappedTransactionReader transactionsRangeReader(
+            @Value("#{stepExecutionContext['fileName']}") String fileName,
+            @Value("#{stepExecutionContext['start']}") Long start,
+            @Value("#{stepExecutionContext['end']}") Long end,
+            @Value("#{stepExecutionContext['firstLine']}") Long firstLine) throws IOException {
+        return readerFactory.buildRange(fileName, start, end, firstLine);
+    }
+
+    @Bean
+    @StepScope
+    public TransactionFileRangePartitioner transactionsRangePartitioner(
+            @Value("#{jobParameters['run.date']}") String date) throws IOException {
+        String fileName = dailyFileName(date);
+        return new TransactionFileRangePartitioner(fileLocator.resolvePath(fileName), fileName);
+    }
+
+    /**
+     * Reader del archivo completo de una partición de dailyTransactionsBackfillJob.
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<TransactionRecord> transactionsFileReader(
+            @Value("#{stepExecutionContext['fileName']}") String fileName) throws IOException {
+        return readerFactory.open(fileName, true);
+    }
+
+    /**
+     * Archivos a procesar: run.pattern (glob) o los días de run.from a run.to.
+     */
+    @Bean
+    @StepScope
+    public DailyFilesPartitioner dailyFilesPartitioner(
+            @Value("#{jobParameters['run.from']}") String from,
+            @Value("#{jobParameters['run.to']}") String to,
+            @Value("#{jobParameters['run.pattern']}") String pattern) throws IOException {
+        List<String> fileNames = (pattern != null && !pattern.isBlank())
+                ? fileLocator.find(pattern)
+                : fileLocator.dailyFilesBetween(LocalDate.parse(from), LocalDate.parse(to));
+        return new DailyFilesPartitioner(fileNames);
+    }
+
+    @Bean
+    @SuppressWarnings("removal")
     public Step dailyTransactionsStep(JobRepository jobRepository,
                                       PlatformTransactionManager txManager,
-                                      FlatFileItemReader<TransactionRecord> transactionsReader) {
-        return new StepBuilder("dailyTransactionsStep", jobRepository)
-                .<TransactionRecord, ProcessedTransaction>chunk(100, txManager)
-                .reader(transactionsReader)
-                .processor(processor)
-                .writer(writer)
-                .faultTolerant()
-                .skip(Exception.class)
-                .skipLimit(50)
+                                      @Qualifier("transactionsReader") ItemStreamReader<TransactionRecord> transactionsReader,
+                                      @Qualifier("dailyTransactionsTaskExecutor") TaskExecutor taskExecutor) {
+        LegacyCsvProperties.Parallel parallel = legacyProps.getParallel();
+        ItemReader<TransactionRecord> reader = parallel.isEnabled()
+                ? new SynchronizedItemStreamReaderBuilder<TransactionRecord>().delegate(transactionsReader).build()
+                : transactionsReader;
+
+        SimpleStepBuilder<TransactionRecord, ProcessedTransaction> builder =
+                dailyStepBuilder("dailyTransactionsStep", jobRepository, txManager, reader);
+
+        if (parallel.isEnabled()) {
+            // throttleLimit por defecto es 4: se alinea con el tamaño del executor
+            builder.taskExecutor(taskExecutor)
+                    .throttleLimit(parallel.resolveThreads());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Worker de un rango de bytes; cada partición guarda su offset en su propio ExecutionContext.
+     */
+    @Bean
+    public Step dailyTransactionsRangeWorkerStep(JobRepository jobRepository,
+                                                 PlatformTransactionManager txManager,
+                                                 MappedTransactionReader transactionsRangeReader) {
+        return dailyStepBuilder("dailyTransactionsRangeWorkerStep", jobRepository, txManager, transactionsRangeReader)
+                .build();
+    }
+
+    @Bean
+    public Step dailyTransactionsPartitionedStep(JobRepository jobRepository,
+                                                 @Qualifier("dailyTransactionsRangeWorkerStep") Step workerStep,
+                                                 TransactionFileRangePartitioner transactionsRangePartitioner,
+                                                 @Qualifier("partitionTaskExecutor") TaskExecutor partitionTaskExecutor) {
+        return new StepBuilder("dailyTransactionsPartitionedStep", jobRepository)
+                .partitioner("dailyTransactionsRangeWorkerStep", transactionsRangePartitioner)
+                .step(workerStep)
+                .gridSize(legacyProps.getPartition().resolveGridSize())
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Worker de un archivo diario; su step execution es la que evita reprocesar el día en un restart.
+     */
+    @Bean
+    public Step dailyTransactionsFileWorkerStep(JobRepository jobRepository,
+                                                PlatformTransactionManager txManager,
+                                                @Qualifier("transactionsFileReader") ItemStreamReader<TransactionRecord> transactionsFileReader) {
+        return dailyStepBuilder("dailyTransactionsFileWorkerStep", jobRepository, txManager, transactionsFileReader)
+                .build();
+    }
+
+    @Bean
+    public Step dailyTransactionsFilesStep(JobRepository jobRepository,
+                                           @Qualifier("dailyTransactionsFileWorkerStep") Step workerStep,
+                                           DailyFilesPartitioner dailyFilesPartitioner,
+                                           @Qualifier("partitionTaskExecutor") TaskExecutor partitionTaskExecutor) {
+        return new StepBuilder("dailyTransactionsFilesStep", jobRepository)
+                .partitioner("dailyTransactionsFileWorkerStep", dailyFilesPartitioner)
+                .step(workerStep)
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public AccountMonthlyTotalsTasklet accountMonthlyTotalsTasklet(JdbcTemplate jdbcTemplate, JobExplorer jobExplorer)
+            throws MetaDataAccessException {
+        return new AccountMonthlyTotalsTasklet(jdbcTemplate, jobExplorer, monthlyTotalsDeltas,
+                legacyProps.getWriter().getBatchSize());
+    }
+
+    /**
+     * Lleva a account_monthly_totals lo ingerido en una sola transacción, después de la ingesta.
+     */
+    @Bean
+    public Step accountMonthlyTotalsStep(JobRepository jobRepository,
+                                         PlatformTransactionManager txManager,
+                                         AccountMonthlyTotalsTasklet accountMonthlyTotalsTasklet) {
+        return new StepBuilder("accountMonthlyTotalsStep", jobRepository)
+                .tasklet(accountMonthlyTotalsTasklet, txManager)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics)
                 .build();
     }
 
     @Bean
     public Job dailyTransactionsReportJob(JobRepository jobRepository,
-                                          @Qualifier("dailyTransactionsStep") Step dailyTransactionsStep) {
+                                          @Qualifier("dailyTransactionsStep") Step dailyTransactionsStep,
+                                          @Qualifier("dailyTransactionsPartitionedStep") Step dailyTransactionsPartitionedStep,
+                                          @Qualifier("accountMonthlyTotalsStep") Step accountMonthlyTotalsStep) {
         return new JobBuilder("dailyTransactionsReportJob", jobRepository)
-                .start(dailyTransactionsStep)
+                .listener(partitions)
+                .listener(monthlyTotalsDeltas)
+                .start(legacyProps.getPartition().isEnabled() ? dailyTransactionsPartitionedStep : dailyTransactionsStep)
+                .next(accountMonthlyTotalsStep)
                 .build();
     }
+
+    /**
+     * Job 1 sobre varios días: una partición (y step execution) por archivo, en paralelo
+     * sobre partitionTaskExecutor. Relanzarlo con los mismos parámetros reinicia la
+     * ejecución fallida y sólo vuelve a correr los archivos que no terminaron.
+     */
+    @Bean
+    public Job dailyTransactionsBackfillJob(JobRepository jobRepository,
+                                            @Qualifier("dailyTransactionsFilesStep") Step dailyTransactionsFilesStep,
+                                            @Qualifier("accountMonthlyTotalsStep") Step accountMonthlyTotalsStep) {
+        return new JobBuilder("dailyTransactionsBackfillJob", jobRepository)
+                .validator(backfillValidator())
+                .listener(partitions)
+                .listener(monthlyTotalsDeltas)
+                .start(dailyTransactionsFilesStep)
+                .next(accountMonthlyTotalsStep)
+                .build();
+    }
+
+    /**
+     * run.pattern (glob) o run.from y run.to (YYYY-MM-DD, run.to no anterior a run.from).
+     */
+    static JobParametersValidator backfillValidator() {
+        return parameters -> {
+            String pattern = parameters == null ? null : parameters.getString("run.pattern");
+            if (pattern != null && !pattern.isBlank()) {
+                return;
+            }
+            LocalDate from = date(parameters, "run.from");
+            LocalDate to = date(parameters, "run.to");
+            if (to.isBefore(from)) {
+                throw new JobParametersInvalidException("run.to (" + to + ") es anterior a run.from (" + from + ")");
+            }
+        };
+    }
+
+    private static LocalDate date(JobParameters parameters, String key) throws JobParametersInvalidException {
+        String value = parameters == null ? null : parameters.getString(key);
+        try {
+            return LocalDate.parse(value == null ? "" : value);
+        } catch (DateTimeParseException e) {
+            throw new JobParametersInvalidException(key + " debe tener formato YYYY-MM-DD (o indicar run.pattern): " + value);
+        }
+    }
+
+    private SimpleStepBuilder<TransactionRecord, ProcessedTransaction> dailyStepBuilder(
+            String stepName, JobRepository jobRepository, PlatformTransactionManager txManager,
+            ItemReader<TransactionRecord> reader) {
+        return new StepBuilder(stepName, jobRepository)
+                .<TransactionRecord, ProcessedTransaction>chunk(100, txManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(legacyProps.getWriter().isJdbcBatch() ? jdbcWriter : writer)
+                .faultTolerant()
+                .skip(Exception.class)
+                .skipLimit(50)
+                .listener((StepExecutionListener) accountCache)
+                .listener((ChunkListener) accountCache)
+                .listener((ItemReadListener<TransactionRecord>) accountCache)
+                .listener((StepExecutionListener) deduplicator)
+                .listener((ChunkListener) deduplicator)
+                .listener((ItemReadListener<TransactionRecord>) deduplicator)
+                .listener((StepExecutionListener) anomalyAccumulator)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics)
+                .listener((StepExecutionListener) ingestedMonths)
+                .listener((ChunkListener) ingestedMonths)
+                .listener((ItemWriteListener<ProcessedTransaction>) ingestedMonths);
+    }
+
+    private String dailyFileName(String date) {
+        return (date != null && !date.isBlank())
+                ? LegacyFileLocator.dailyTransactionsFile(date)
+                : legacyProps.getFiles().getDailyTransactionsFile();
+    }
 }
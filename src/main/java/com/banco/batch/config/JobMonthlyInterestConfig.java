@@ -1,57 +1,223 @@
 package com.banco.batch.config;
 
+import com.banco.batch.id.IdBlockAllocator;
+import com.banco.batch.interest.ColumnarInterestTasklet;
+import com.banco.batch.interest.MonthlyInterestPushDownTasklet;
+import com.banco.batch.metrics.StepMetricsListener;
 import com.banco.batch.model.Account;
 import com.banco.batch.model.InterestLedger;
+import com.banco.batch.partition.AccountIdRangePartitioner;
 import com.banco.batch.processor.MonthlyInterestProcessor;
-import com.banco.batch.repository.AccountRepository;
+import com.banco.batch.reader.AccountPagingReader;
 import com.banco.batch.writer.MonthlyInterestWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.JobParametersValidator;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Job 2: Intereses mensuales. El parámetro run.engine elige el motor: "jvm" (por defecto,
+ * reader/processor/writer por chunks), "sql" (cálculo dentro de la BD por rangos de cuentas)
+ * o "columnar" (bloques de cuentas en arreglos primitivos, escritos con JDBC en lote).
+ * Con legacy.interest.partitioned el motor "jvm" reparte las cuentas por rangos de id entre
+ * workers en paralelo. Todos los motores postean sólo las cuentas sin interés de run.period,
+ * así que relanzar el cierre de un período tras una falla sigue con las que faltan.
+ */
 @Configuration
 @RequiredArgsConstructor
 public class JobMonthlyInterestConfig {
 
-    private final AccountRepository accountRepository;
+    static final String ENGINE_SQL = "sql";
+    static final String ENGINE_COLUMNAR = "columnar";
+
+    private final AccountPagingReader accountReader;
     private final MonthlyInterestProcessor processor;
     private final MonthlyInterestWriter writer;
+    private final StepMetricsListener stepMetrics;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final LegacyCsvProperties legacyProps;
 
+    /**
+     * Cuentas sin interés de run.period, por páginas de legacy.account-reader.fetch-size,
+     * reiniciable desde el último id.
+     */
     @Bean
     @StepScope
-    public ListItemReader<Account> accountReaderForMonthly() {
-        return new ListItemReader<>(accountRepository.findAll());
+    public JdbcPagingItemReader<Account> accountReaderForMonthly(
+            @Value("#{jobParameters['run.period']}") String period) throws Exception {
+        return accountReader.buildUnposted("accountReaderForMonthly", period);
+    }
+
+    /**
+     * Cuentas sin interés de run.period del rango [minId, maxId] de una partición de
+     * monthlyInterestPartitionedStep.
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Account> accountRangeReaderForMonthly(
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId,
+            @Value("#{jobParameters['run.period']}") String period) throws Exception {
+        return accountReader.buildUnpostedRange("accountRangeReaderForMonthly", minId, maxId, period);
+    }
+
+    @Bean
+    @StepScope
+    public MonthlyInterestPushDownTasklet monthlyInterestPushDownTasklet(
+            @Value("#{jobParameters['run.period']}") String period) {
+        return new MonthlyInterestPushDownTasklet(jdbcTemplate, idAllocator, legacyProps, period);
+    }
+
+    @Bean
+    @StepScope
+    public ColumnarInterestTasklet monthlyInterestColumnarTasklet(
+            @Value("#{jobParameters['run.period']}") String period) {
+        return new ColumnarInterestTasklet(jdbcTemplate, idAllocator, legacyProps, period);
     }
 
     @Bean
     public Step monthlyInterestStep(JobRepository jobRepository,
                                     PlatformTransactionManager txManager,
-                                    @Qualifier("accountReaderForMonthly") ListItemReader<Account> accountReaderForMonthly) {
-        return new StepBuilder("monthlyInterestStep", jobRepository)
-                .<Account, InterestLedger>chunk(50, txManager)
-                .reader(accountReaderForMonthly)
-                .processor(processor)
-                .writer(writer)
-                .faultTolerant()
-                .retry(Exception.class)
-                .retryLimit(3)
+                                    @Qualifier("accountReaderForMonthly") JdbcPagingItemReader<Account> accountReaderForMonthly) {
+        return interestStepBuilder("monthlyInterestStep", jobRepository, txManager, accountReaderForMonthly)
+                .build();
+    }
+
+    /**
+     * Worker de un rango de ids; cada partición tiene su propia step execution (posición,
+     * reintentos y restart independientes).
+     */
+    @Bean
+    public Step monthlyInterestWorkerStep(JobRepository jobRepository,
+                                          PlatformTransactionManager txManager,
+                                          @Qualifier("accountRangeReaderForMonthly") JdbcPagingItemReader<Account> accountRangeReaderForMonthly) {
+        return interestStepBuilder("monthlyInterestWorkerStep", jobRepository, txManager, accountRangeReaderForMonthly)
                 .build();
     }
 
+    @Bean
+    public Step monthlyInterestPartitionedStep(JobRepository jobRepository,
+                                               @Qualifier("monthlyInterestWorkerStep") Step workerStep,
+                                               @Qualifier("partitionTaskExecutor") TaskExecutor partitionTaskExecutor) {
+        return new StepBuilder("monthlyInterestPartitionedStep", jobRepository)
+                .partitioner("monthlyInterestWorkerStep", new AccountIdRangePartitioner(jdbcTemplate))
+                .step(workerStep)
+                .gridSize(legacyProps.getPartition().resolveGridSize())
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Motor "sql": una transacción por rango de cuentas; el último id procesado queda en el
+     * ExecutionContext del step para reiniciar desde el rango siguiente.
+     */
+    @Bean
+    public Step monthlyInterestPushDownStep(JobRepository jobRepository,
+                                            PlatformTransactionManager txManager,
+                                            @Qualifier("monthlyInterestPushDownTasklet") Tasklet pushDownTasklet) {
+        return new StepBuilder("monthlyInterestPushDownStep", jobRepository)
+                .tasklet(pushDownTasklet, txManager)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics)
+                .build();
+    }
+
+    /**
+     * Motor "columnar": una transacción por bloque de cuentas, reiniciable desde el bloque siguiente.
+     */
+    @Bean
+    public Step monthlyInterestColumnarStep(JobRepository jobRepository,
+                                            PlatformTransactionManager txManager,
+                                            @Qualifier("monthlyInterestColumnarTasklet") Tasklet columnarTasklet) {
+        return new StepBuilder("monthlyInterestColumnarStep", jobRepository)
+                .tasklet(columnarTasklet, txManager)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics)
+                .build();
+    }
+
+    @Bean
+    public JobExecutionDecider monthlyInterestEngineDecider() {
+        return (jobExecution, stepExecution) -> {
+            String engine = jobExecution.getJobParameters().getString("run.engine");
+            if (ENGINE_SQL.equalsIgnoreCase(engine)) {
+                return new FlowExecutionStatus("SQL");
+            }
+            if (ENGINE_COLUMNAR.equalsIgnoreCase(engine)) {
+                return new FlowExecutionStatus("COLUMNAR");
+            }
+            return new FlowExecutionStatus(legacyProps.getInterest().isPartitioned() ? "PARTITIONED" : "JVM");
+        };
+    }
+
     @Bean
     public Job monthlyInterestJob(JobRepository jobRepository,
-                                  @Qualifier("monthlyInterestStep") Step monthlyInterestStep) {
+                                  @Qualifier("monthlyInterestStep") Step monthlyInterestStep,
+                                  @Qualifier("monthlyInterestPartitionedStep") Step monthlyInterestPartitionedStep,
+                                  @Qualifier("monthlyInterestPushDownStep") Step monthlyInterestPushDownStep,
+                                  @Qualifier("monthlyInterestColumnarStep") Step monthlyInterestColumnarStep,
+                                  @Qualifier("monthlyInterestEngineDecider") JobExecutionDecider engineDecider) {
         return new JobBuilder("monthlyInterestJob", jobRepository)
-                .start(monthlyInterestStep)
+                .validator(periodValidator())
+                .start(engineDecider)
+                .on("SQL").to(monthlyInterestPushDownStep)
+                .from(engineDecider).on("COLUMNAR").to(monthlyInterestColumnarStep)
+                .from(engineDecider).on("PARTITIONED").to(monthlyInterestPartitionedStep)
+                .from(engineDecider).on("*").to(monthlyInterestStep)
+                .end()
                 .build();
     }
+
+    /**
+     * run.period es obligatorio (YYYY-MM): define el período de interest_ledger y qué cuentas
+     * faltan postear.
+     */
+    static JobParametersValidator periodValidator() {
+        return parameters -> {
+            String period = parameters == null ? null : parameters.getString("run.period");
+            try {
+                YearMonth.parse(period == null ? "" : period);
+            } catch (DateTimeParseException e) {
+                throw new JobParametersInvalidException("run.period debe tener formato YYYY-MM: " + period);
+            }
+        };
+    }
+
+    private SimpleStepBuilder<Account, InterestLedger> interestStepBuilder(
+            String stepName, JobRepository jobRepository, PlatformTransactionManager txManager,
+            JdbcPagingItemReader<Account> reader) {
+        return new StepBuilder(stepName, jobRepository)
+                .<Account, InterestLedger>chunk(50, txManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
+                .faultTolerant()
+                .retry(Exception.class)
+                .retryLimit(3)
+                .listener((StepExecutionListener) stepMetrics)
+                .listener((ChunkListener) stepMetrics);
+    }
 }
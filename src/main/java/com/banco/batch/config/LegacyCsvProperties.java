@@ -13,6 +13,17 @@ public class LegacyCsvProperties {
 
     private Files files = new Files();
     private Columns columns = new Columns();
+    private AccountCache accountCache = new AccountCache();
+    private AccountReader accountReader = new AccountReader();
+    private Parallel parallel = new Parallel();
+    private Partition partition = new Partition();
+    private Writer writer = new Writer();
+    private Ids ids = new Ids();
+    private Anomalies anomalies = new Anomalies();
+    private Dedup dedup = new Dedup();
+    private Launcher launcher = new Launcher();
+    private Interest interest = new Interest();
+    private Migration migration = new Migration();
 
     @Getter @Setter
     public static class Files {
@@ -20,6 +31,14 @@ public class LegacyCsvProperties {
         private String dailyTransactionsFile;
         private String interestFile;
         private String annualAccountsFile;
+        /** Directorio de entrada en disco; si está vacío se usa /resources/data del classpath */
+        private String inputDir;
+        /** Lee el CSV diario con MappedTransactionReader (FileChannel.map) en vez de FlatFileItemReader */
+        private boolean memoryMapped = true;
+        /** Bloques descomprimidos por adelantado al leer un CSV .gz; 0 = descomprimir en el hilo del reader */
+        private int readAheadBlocks = 4;
+        /** Tamaño de cada bloque descomprimido por adelantado */
+        private int readAheadBlockKb = 256;
     }
 
     @Getter @Setter
@@ -30,4 +49,133 @@ public class LegacyCsvProperties {
         private String monto;        // "monto"
         private String tipo;         // "tipo"
     }
+
+    @Getter @Setter
+    public static class AccountCache {
+        /** Precarga las cuentas antes de dailyTransactionsStep en vez de consultar por fila */
+        private boolean enabled = true;
+        /** Techo de memoria del snapshot; si la tabla no cabe se usan lookups IN (...) por chunk */
+        private long maxMemoryMb = 64;
+        /** Cantidad de números de cuenta por consulta IN (...) en el modo por chunk */
+        private int lookupBatchSize = 500;
+    }
+
+    /**
+     * Lectura de accounts en los jobs mensual y anual (ver AccountPagingReader).
+     */
+    @Getter @Setter
+    public static class AccountReader {
+        /** Cuentas por página (keyset sobre id) y fetch size JDBC */
+        private int fetchSize = 1000;
+    }
+
+    /**
+     * Modo paralelo opcional de dailyTransactionsStep: step multi-hilo con lector sincronizado.
+     * Con el modo activo el lector no guarda su posición, por lo que un restart vuelve a leer
+     * el archivo desde el inicio y la deduplicación descarta las filas ya confirmadas; con
+     * legacy.dedup.enabled=false el restart se rechaza (skip y tolerancia a fallos se mantienen por chunk).
+     */
+    @Getter @Setter
+    public static class Parallel {
+        /** Activa el procesamiento multi-hilo (por defecto, secuencial) */
+        private boolean enabled = false;
+        /** Hilos del executor acotado; 0 = todos los núcleos disponibles */
+        private int threads = 0;
+
+        public int resolveThreads() {
+            return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * Particionado por rangos de bytes de un único CSV diario: cada rango es un step worker
+     * con su propio ExecutionContext, de modo que una partición fallida se reinicia sola.
+     */
+    @Getter @Setter
+    public static class Partition {
+        /** Ejecuta dailyTransactionsReportJob como step particionado (tiene prioridad sobre parallel) */
+        private boolean enabled = false;
+        /** Cantidad de rangos/hilos (también del job mensual particionado); 0 = todos los núcleos disponibles */
+        private int gridSize = 0;
+
+        public int resolveGridSize() {
+            return gridSize > 0 ? gridSize : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    @Getter @Setter
+    public static class Writer {
+        /** Escribe processed_transactions con INSERTs JDBC en lote en vez de repository.saveAll */
+        private boolean jdbcBatch = true;
+        /** Filas por lote JDBC (también el UPDATE de saldos del job mensual) */
+        private int batchSize = 500;
+    }
+
+    @Getter @Setter
+    public static class Ids {
+        /** IDs reservados por viaje a id_allocator (Hibernate y writers JDBC) */
+        private int blockSize = 50;
+    }
+
+    /**
+     * Conteo de anomalías del reporte diario (ver AnomalyAccumulator): log muestreado
+     * en vez de una línea por fila, más un resumen por step.
+     */
+    @Getter @Setter
+    public static class Anomalies {
+        /** Ocurrencias de cada regla que se loguean siempre */
+        private int logFirst = 10;
+        /** Después de log-first, se loguea una de cada log-every ocurrencias de la regla; 0 = ninguna */
+        private int logEvery = 1000;
+        /** Guarda el resumen por regla y por tipo en la tabla anomaly_summary al terminar el step */
+        private boolean persistSummary = true;
+    }
+
+    /**
+     * Deduplicación del reporte diario (ver TransactionDeduplicator): filtro de Bloom de
+     * claves ya ingeridas más el índice único de processed_transactions.dedup_key.
+     */
+    @Getter @Setter
+    public static class Dedup {
+        private boolean enabled = true;
+        /** Memoria máxima del filtro de claves existentes; si no alcanza, se consulta la BD por chunk */
+        private long maxMemoryMb = 64;
+        /** Tasa de falsos positivos del filtro (cada falso positivo cuesta una clave más en el IN del chunk) */
+        private double falsePositiveRate = 0.01;
+        /** Claves por consulta IN (...) al confirmar contra la BD */
+        private int lookupBatchSize = 500;
+    }
+
+    /**
+     * Lanzamiento asíncrono de jobs desde JobController (async=true).
+     */
+    @Getter @Setter
+    public static class Launcher {
+        /** Jobs que corren a la vez */
+        private int threads = 2;
+        /** Lanzamientos en espera; con la cola llena se responde 503 */
+        private int queueCapacity = 10;
+    }
+
+    /**
+     * Job de intereses mensuales (monthlyInterestJob).
+     */
+    @Getter @Setter
+    public static class Interest {
+        /** Motor jvm particionado por rangos de id (legacy.partition.grid-size workers en partitionTaskExecutor) */
+        private boolean partitioned = false;
+        /** Cuentas por rango (y por transacción) del motor sql, run.engine=sql */
+        private int pushDownRangeSize = 10_000;
+        /** Cuentas por bloque (y por transacción) del motor columnar, run.engine=columnar */
+        private int columnarBlockSize = 10_000;
+    }
+
+    /**
+     * Esquema administrado por Flyway (spring.flyway.*, scripts en db/migration/{vendor}).
+     */
+    @Getter @Setter
+    public static class Migration {
+        /** PostgreSQL: meses de processed_transactions que se particionan por adelantado además del actual */
+        private int partitionMonthsAhead = 1;
+    }
 }
@@ -0,0 +1,87 @@
+package com.banco.batch.dedup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre hashes de 64 bits (doble hashing h1 + i*h2). Sin falsos negativos:
+ * si mightContain devuelve false, la clave nunca se agregó. Agregar y consultar es seguro
+ * entre hilos y sin locks (OR atómico por palabra).
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        long wordCount = Math.max(1, (bits + 63) >>> 6);
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filtro de Bloom demasiado grande: " + bits + " bits");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bits = wordCount << 6;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @param expectedKeys      claves esperadas
+     * @param falsePositiveRate tasa de falsos positivos objetivo con expectedKeys claves
+     */
+    public static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        long bits = bitsFor(n, falsePositiveRate);
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /** Bits necesarios para n claves con la tasa de falsos positivos indicada. */
+    public static long bitsFor(long n, double falsePositiveRate) {
+        return (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    }
+
+    public void add(long hash) {
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    public boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return bits / 8;
+    }
+
+    /**
+     * Hash de 64 bits de una clave (FNV-1a sobre los chars más el finalizador de MurmurHash3).
+     */
+    public static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
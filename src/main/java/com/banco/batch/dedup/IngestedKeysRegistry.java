@@ -0,0 +1,49 @@
+package com.banco.batch.dedup;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Comparte el estado de deduplicación entre los hilos y steps concurrentes de una misma
+ * JobExecution (particiones): el filtro de claves ya ingeridas se carga una sola vez y las
+ * claves reservadas en la ejecución son comunes, así dos hilos no aceptan la misma fila.
+ * Se liberan cuando termina el último step que los adquirió.
+ */
+@Component
+public class IngestedKeysRegistry {
+
+    private final Map<Long, Filters> byJobExecution = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader se invoca sólo la primera vez.
+     */
+    public Filters acquire(long jobExecutionId, Supplier<Filters> loader) {
+        return byJobExecution.compute(jobExecutionId, (id, filters) -> {
+            Filters f = filters != null ? filters : loader.get();
+            f.references++;
+            return f;
+        });
+    }
+
+    public void release(long jobExecutionId) {
+        byJobExecution.computeIfPresent(jobExecutionId, (id, filters) -> --filters.references == 0 ? null : filters);
+    }
+
+    public static final class Filters {
+        /** Claves presentes en processed_transactions al iniciar, o null si no cupo en memoria. */
+        final BloomFilter ingested;
+        /**
+         * Hash de las claves aceptadas durante esta JobExecution → ítem dueño mientras su chunk
+         * no confirma (un reintento del mismo ítem sigue siendo NEW), o COMMITTED después.
+         */
+        final Map<Long, Object> claims = new ConcurrentHashMap<>();
+        private int references;
+
+        public Filters(BloomFilter ingested) {
+            this.ingested = ingested;
+        }
+    }
+}
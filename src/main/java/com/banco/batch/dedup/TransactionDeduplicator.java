@@ -0,0 +1,280 @@
+package com.banco.batch.dedup;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.processor.rules.AmountParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detecta filas ya ingeridas y duplicadas del CSV diario, con la clave de {@link #keyOf}
+ * (columna dedup_key de processed_transactions, con índice único).
+ * En beforeStep carga un filtro de Bloom con las claves existentes; sólo las filas que el
+ * filtro no descarta se confirman contra la BD, con una consulta IN (...) por chunk. Las claves
+ * aceptadas en la ejecución se reservan en un mapa común a todos los hilos y particiones
+ * (ver IngestedKeysRegistry), así que la BD sólo decide sobre claves anteriores a la ejecución.
+ * Resultado de {@link #classify}:
+ * <ul>
+ *   <li>INGESTED: la fila ya estaba antes de la ejecución; el processor la descarta.</li>
+ *   <li>DUPLICATE: la misma línea del mismo archivo ya se aceptó en esta ejecución (p. ej. rangos solapados);
+ *       se escribe como anomalía y sin dedup_key.</li>
+ * </ul>
+ * Si el filtro de claves existentes no cabe en legacy.dedup.max-memory-mb, todas las claves
+ * se confirman por chunk. Las reservas se guardan por hash de 64 bits (unos 64 bytes por fila).
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class TransactionDeduplicator implements StepExecutionListener, ChunkListener, ItemReadListener<TransactionRecord> {
+
+    public static final String DUPLICATE_MESSAGE = "Transacción duplicada en el archivo";
+
+    /** Largo de la columna dedup_key; claves más largas se reemplazan por su hash. */
+    static final int MAX_KEY_LENGTH = 255;
+
+    public enum Outcome { NEW, INGESTED, DUPLICATE }
+
+    /** Dueño de una clave cuyo chunk ya confirmó. */
+    private static final Object COMMITTED = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LegacyCsvProperties props;
+    private final IngestedKeysRegistry registry;
+
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder flagged = new LongAdder();
+    private final LongAdder dbQueries = new LongAdder();
+
+    private volatile IngestedKeysRegistry.Filters filters;
+    private long jobExecutionId;
+
+    /** Página por hilo: cada chunk lo procesa un único hilo. */
+    private final ThreadLocal<ChunkPage> pages = ThreadLocal.withInitial(ChunkPage::new);
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!props.getDedup().isEnabled()) {
+            return;
+        }
+        jobExecutionId = stepExecution.getJobExecutionId();
+        filters = registry.acquire(jobExecutionId, this::loadFilters);
+    }
+
+    private IngestedKeysRegistry.Filters loadFilters() {
+        LegacyCsvProperties.Dedup cfg = props.getDedup();
+        Long keys = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM processed_transactions WHERE dedup_key IS NOT NULL", Long.class);
+        dbQueries.increment();
+        long count = keys == null ? 0 : keys;
+        long bytes = BloomFilter.bitsFor(Math.max(1, count), cfg.getFalsePositiveRate()) / 8;
+        if (bytes > cfg.getMaxMemoryMb() * 1024L * 1024L) {
+            log.info("Ingested keys too many for Bloom filter ({} keys, ~{} MB > {} MB); checking every chunk in the database",
+                    count, bytes / (1024 * 1024), cfg.getMaxMemoryMb());
+            return new IngestedKeysRegistry.Filters(null);
+        }
+        BloomFilter ingested = BloomFilter.create(count, cfg.getFalsePositiveRate());
+        if (count > 0) {
+            jdbcTemplate.query("SELECT dedup_key FROM processed_transactions WHERE dedup_key IS NOT NULL",
+                    rs -> { ingested.add(BloomFilter.hash(rs.getString(1))); });
+            dbQueries.increment();
+        }
+        log.info("Ingested keys filter loaded: {} keys (~{} KB)", count, ingested.sizeInBytes() / 1024);
+        return new IngestedKeysRegistry.Filters(ingested);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (filters != null) {
+            stepExecution.getExecutionContext().putLong("dedup.skipped", skipped.sum());
+            stepExecution.getExecutionContext().putLong("dedup.flagged", flagged.sum());
+            stepExecution.getExecutionContext().putLong("dedup.dbQueries", dbQueries.sum());
+            log.info("Dedup stats: skipped={}, flagged={}, dbQueries={}", skipped.sum(), flagged.sum(), dbQueries.sum());
+            registry.release(jobExecutionId);
+        }
+        filters = null;
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        if (filters != null) {
+            pages.get().reset();
+        }
+    }
+
+    /**
+     * El chunk confirmó: sus claves quedan reservadas sin retener los ítems.
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        IngestedKeysRegistry.Filters f = filters;
+        if (f != null) {
+            ChunkPage page = pages.get();
+            page.claimed.forEach((hash, item) -> f.claims.replace(hash, item, COMMITTED));
+            page.claimed.clear();
+        }
+    }
+
+    /**
+     * El chunk se revirtió: sus claves no llegaron a la BD y se liberan para el reintento.
+     */
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        IngestedKeysRegistry.Filters f = filters;
+        if (f != null) {
+            ChunkPage page = pages.get();
+            page.claimed.forEach(f.claims::remove);
+            page.claimed.clear();
+        }
+    }
+
+    @Override
+    public void afterRead(TransactionRecord item) {
+        IngestedKeysRegistry.Filters f = filters;
+        if (f != null) {
+            String key = keyOf(item);
+            if (mightExist(f, BloomFilter.hash(key))) {
+                pages.get().pending.add(key);
+            }
+        }
+    }
+
+    /**
+     * @return true si la deduplicación está activa para el step en curso.
+     */
+    public boolean isActive() {
+        return filters != null;
+    }
+
+    /**
+     * Clasifica la fila; si es NEW la clave queda reservada para toda la JobExecution.
+     * Volver a clasificar el mismo ítem (reintento del chunk) devuelve NEW otra vez.
+     */
+    public Outcome classify(String key, TransactionRecord item) {
+        IngestedKeysRegistry.Filters f = filters;
+        ChunkPage page = pages.get();
+        long hash = BloomFilter.hash(key);
+        Object owner = f.claims.get(hash);
+        if (owner == null) {
+            // Las claves que esta ejecución confirmó siguen reservadas: si la BD la tiene y
+            // nadie la reservó, es anterior a la ejecución
+            if (mightExist(f, hash) && page.exists(key) && !f.claims.containsKey(hash)) {
+                skipped.increment();
+                return Outcome.INGESTED;
+            }
+            owner = f.claims.putIfAbsent(hash, item);
+            if (owner == null) {
+                page.claimed.put(hash, item);
+                return Outcome.NEW;
+            }
+        }
+        if (owner == item) {
+            return Outcome.NEW;
+        }
+        flagged.increment();
+        return Outcome.DUPLICATE;
+    }
+
+    /**
+     * Clave de deduplicación: archivo:línea|id|fecha|monto|tipo. El legacy no trae un id de
+     * transacción (la columna id es el número de cuenta), así que la fila se identifica por su
+     * posición en el archivo más su contenido normalizado: fecha ISO, monto en centavos cuando se
+     * puede parsear (1000 y 1000.00 son iguales) y tipo en minúsculas. Dos filas idénticas en
+     * líneas distintas son dos transacciones.
+     */
+    public static String keyOf(TransactionRecord item) {
+        String id = trim(item.getId());
+        String fecha = trim(item.getFecha()).replace('/', '-');
+        String monto = trim(item.getMonto());
+        String amount;
+        try {
+            amount = Long.toString(AmountParser.parseCents(monto));
+        } catch (NumberFormatException e) {
+            amount = monto;
+        }
+        String tipo = trim(item.getTipo()).toLowerCase(Locale.ROOT);
+        String content = id + '|' + fecha + '|' + amount + '|' + tipo;
+        String key = item.getArchivo() == null ? content : item.getArchivo() + ':' + item.getLinea() + '|' + content;
+        return key.length() <= MAX_KEY_LENGTH ? key : "#" + Long.toHexString(BloomFilter.hash(key));
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getFlagged() {
+        return flagged.sum();
+    }
+
+    public long getDbQueries() {
+        return dbQueries.sum();
+    }
+
+    private static boolean mightExist(IngestedKeysRegistry.Filters f, long hash) {
+        return f.ingested == null || f.ingested.mightContain(hash);
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    /**
+     * Claves del chunk en curso: las reservadas por este hilo y las confirmadas contra la BD en lotes IN (...).
+     */
+    private final class ChunkPage {
+        private final List<String> pending = new ArrayList<>();
+        private final Set<String> queried = new HashSet<>();
+        private final Set<String> found = new HashSet<>();
+        private final Map<Long, TransactionRecord> claimed = new HashMap<>();
+
+        void reset() {
+            pending.clear();
+            queried.clear();
+            found.clear();
+            claimed.clear();
+        }
+
+        boolean exists(String key) {
+            if (!queried.contains(key)) {
+                pending.add(key);
+                List<String> keys = pending.stream().filter(k -> !queried.contains(k)).distinct().toList();
+                load(keys);
+                queried.addAll(keys);
+                pending.clear();
+            }
+            return found.contains(key);
+        }
+
+        private void load(List<String> keys) {
+            int batchSize = Math.max(1, props.getDedup().getLookupBatchSize());
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                List<String> batch = keys.subList(from, Math.min(keys.size(), from + batchSize));
+                String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+                found.addAll(jdbcTemplate.queryForList(
+                        "SELECT dedup_key FROM processed_transactions WHERE dedup_key IN (" + placeholders + ")",
+                        String.class, batch.toArray()));
+                dbQueries.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.banco.batch.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ID asignado por bloques desde id_allocator (ver {@link BlockIdGenerator}).
+ * A diferencia de IDENTITY, permite que Hibernate agrupe los INSERT en lotes JDBC.
+ */
+@IdGeneratorType(BlockIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockId {
+    /** Tabla de la entidad; es la clave de su fila en id_allocator. */
+    String value();
+}
@@ -0,0 +1,47 @@
+package com.banco.batch.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.jdbc.AbstractReturningWork;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Generador Hibernate de {@link BlockId}: reserva bloques en id_allocator dentro de una
+ * transacción aislada (IsolationDelegate) y reparte los IDs del bloque en memoria.
+ * El tamaño de bloque sale del setting {@value #BLOCK_SIZE_SETTING}.
+ */
+public class BlockIdGenerator implements IdentifierGenerator, AnnotationBasedGenerator<BlockId> {
+
+    public static final String BLOCK_SIZE_SETTING = "banco.id.block_size";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private String name;
+    private int blockSize;
+    private IdBlock block;
+
+    @Override
+    public void initialize(BlockId annotation, Member member, GeneratorCreationContext context) {
+        this.name = annotation.value();
+        this.blockSize = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+        this.block = new IdBlock(blockSize);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return block.next(() -> session.getTransactionCoordinator().createIsolationDelegate()
+                .delegateWork(new AbstractReturningWork<Long>() {
+                    @Override
+                    public Long execute(Connection connection) throws SQLException {
+                        return IdBlockTable.allocate(connection, name, blockSize);
+                    }
+                }, true));
+    }
+}
@@ -0,0 +1,25 @@
+package com.banco.batch.id;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Bloque de IDs en memoria: entrega IDs consecutivos y pide un bloque nuevo al agotarse.
+ */
+final class IdBlock {
+
+    private final int blockSize;
+    private long next;
+    private long limit;
+
+    IdBlock(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    synchronized long next(LongSupplier allocateBlock) {
+        if (next >= limit) {
+            next = allocateBlock.getAsLong();
+            limit = next + blockSize;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,61 @@
+package com.banco.batch.id;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asignador de IDs para writers JDBC. Usa los mismos bloques de id_allocator que
+ * BlockIdGenerator, así que los IDs no chocan con los que asigna Hibernate.
+ * Cada bloque se reserva con una conexión propia (fuera de la transacción del chunk).
+ */
+@Component
+public class IdBlockAllocator {
+
+    private final DataSource dataSource;
+    private final int blockSize;
+    private final Map<String, IdBlock> blocks = new ConcurrentHashMap<>();
+
+    public IdBlockAllocator(DataSource dataSource, LegacyCsvProperties props) {
+        this.dataSource = dataSource;
+        this.blockSize = props.getIds().getBlockSize();
+    }
+
+    public long next(String name) {
+        return blocks.computeIfAbsent(name, n -> new IdBlock(blockSize)).next(() -> allocate(name, blockSize));
+    }
+
+    /**
+     * Reserva count IDs consecutivos para inserts en bloque (INSERT ... SELECT).
+     *
+     * @return primer ID del rango [primero, primero + count).
+     */
+    public long reserve(String name, int count) {
+        return allocate(name, count);
+    }
+
+    private long allocate(String name, int size) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long start = IdBlockTable.allocate(connection, name, size);
+                connection.commit();
+                return start;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("No se pudo reservar un bloque de IDs para " + name, e);
+        }
+    }
+}
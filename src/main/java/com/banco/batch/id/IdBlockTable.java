@@ -0,0 +1,71 @@
+package com.banco.batch.id;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * Asignación de bloques de IDs (hi/lo) sobre la tabla id_allocator; SQL portable entre
+ * H2, MySQL y PostgreSQL (no depende de secuencias). Cada llamada reserva
+ * [next_val, next_val + blockSize) y debe ejecutarse en una transacción propia,
+ * separada de la del chunk, para no retener el lock de la fila.
+ */
+public final class IdBlockTable {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_]+");
+
+    private IdBlockTable() { }
+
+    /**
+     * @param name nombre de la tabla cuyos IDs se asignan (también es la clave en id_allocator).
+     * @return primer ID del bloque reservado.
+     */
+    public static long allocate(Connection connection, String name, int blockSize) throws SQLException {
+        if (!TABLE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nombre de asignador inválido: " + name);
+        }
+        for (int attempt = 0; ; attempt++) {
+            Long next = selectForUpdate(connection, name);
+            if (next == null) {
+                try {
+                    // Primera vez: arranca después del mayor ID existente (datos previos con AUTO_INCREMENT)
+                    insertInitial(connection, name);
+                } catch (SQLException e) {
+                    // Otro proceso creó la fila en paralelo: reintentar la lectura
+                    connection.rollback();
+                    if (attempt > 0) {
+                        throw e;
+                    }
+                }
+                continue;
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE id_allocator SET next_val = ? WHERE sequence_name = ?")) {
+                ps.setLong(1, next + blockSize);
+                ps.setString(2, name);
+                ps.executeUpdate();
+            }
+            return next;
+        }
+    }
+
+    private static Long selectForUpdate(Connection connection, String name) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT next_val FROM id_allocator WHERE sequence_name = ? FOR UPDATE")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private static void insertInitial(Connection connection, String name) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO id_allocator (sequence_name, next_val) SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + name)) {
+            ps.setString(1, name);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.banco.batch.interest;
+
+import com.banco.batch.money.Money;
+
+/**
+ * Bloque de cuentas en columnas primitivas paralelas (id, saldo en centavos, tasa en
+ * diezmilésimos) más las columnas de resultado, sin una entidad ni un builder por cuenta.
+ * El cálculo recorre los arreglos en bucles simples que el JIT compila sin boxing ni
+ * llamadas virtuales.
+ */
+final class AccountColumns {
+
+    private static final long MONTHLY_DIVISOR = 12 * Money.RATE_UNITS;
+
+    final long[] ids;
+    final String[] accountNumbers;
+    final long[] balanceCents;
+    final long[] rateUnits;
+    final long[] interestCents;
+    final long[] newBalanceCents;
+    private int size;
+
+    AccountColumns(int capacity) {
+        ids = new long[capacity];
+        accountNumbers = new String[capacity];
+        balanceCents = new long[capacity];
+        rateUnits = new long[capacity];
+        interestCents = new long[capacity];
+        newBalanceCents = new long[capacity];
+    }
+
+    void add(long id, String accountNumber, long balance, long rate) {
+        ids[size] = id;
+        accountNumbers[size] = accountNumber;
+        balanceCents[size] = balance;
+        rateUnits[size] = rate;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long lastId() {
+        return ids[size - 1];
+    }
+
+    /**
+     * Interés y saldo nuevo de todo el bloque, con la misma aritmética que MonthlyInterestProcessor
+     * (Money.monthlyInterest). Si el mayor saldo por la mayor tasa del bloque entra en un long,
+     * ningún producto desborda y el bloque se calcula con aritmética long en línea; si no, todo
+     * el bloque va por Money.monthlyInterest, que cae a BigDecimal en los productos que desbordan.
+     */
+    void computeInterest() {
+        if (productsFitInLong()) {
+            for (int i = 0; i < size; i++) {
+                long product = balanceCents[i] * rateUnits[i];
+                long quotient = product / MONTHLY_DIVISOR;
+                long twice = Math.abs(product - quotient * MONTHLY_DIVISOR) * 2;
+                if (twice > MONTHLY_DIVISOR || (twice == MONTHLY_DIVISOR && (quotient & 1) != 0)) {
+                    quotient += product < 0 ? -1 : 1;
+                }
+                interestCents[i] = quotient;
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                interestCents[i] = Money.monthlyInterest(balanceCents[i], rateUnits[i]);
+            }
+        }
+        // Saldos DECIMAL(18,2): la suma no desborda un long
+        for (int i = 0; i < size; i++) {
+            newBalanceCents[i] = balanceCents[i] + interestCents[i];
+        }
+    }
+
+    private boolean productsFitInLong() {
+        long maxBalance = 0;
+        long maxRate = 0;
+        for (int i = 0; i < size; i++) {
+            long balance = Math.abs(balanceCents[i]);
+            long rate = Math.abs(rateUnits[i]);
+            if ((balance | rate) < 0) {
+                return false; // Math.abs(Long.MIN_VALUE)
+            }
+            maxBalance = Math.max(maxBalance, balance);
+            maxRate = Math.max(maxRate, rate);
+        }
+        return Math.multiplyHigh(maxBalance, maxRate) == 0 && maxBalance * maxRate >= 0;
+    }
+}
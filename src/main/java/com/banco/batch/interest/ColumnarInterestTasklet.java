@@ -0,0 +1,114 @@
+package com.banco.batch.interest;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.id.IdBlockAllocator;
+import com.banco.batch.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Motor "columnar" de monthlyInterestJob: lee un bloque de hasta legacy.interest.columnar-block-size
+ * cuentas por id directo a columnas primitivas (la BD entrega saldo y tasa ya escalados a enteros),
+ * calcula todo el bloque en AccountColumns y escribe ledger y saldos con un INSERT y un UPDATE
+ * JDBC en lote. Una transacción por bloque; el último id queda en el ExecutionContext, así que
+ * un restart sigue desde el bloque siguiente, y los bloques saltan las cuentas que ya tienen
+ * interés del período (igual que MonthlyInterestPushDownTasklet).
+ */
+@Slf4j
+public class ColumnarInterestTasklet implements Tasklet {
+
+    static final String LAST_ID_KEY = "columnar.lastId";
+
+    static final String BLOCK_SQL = "SELECT id, account_number, balance * 100 AS balance_cents, "
+            + "COALESCE(annual_interest_rate, 0) * " + Money.RATE_UNITS + " AS rate_units "
+            + "FROM accounts WHERE id > ? AND " + MonthlyInterestPushDownTasklet.NOT_POSTED + " ORDER BY id LIMIT ?";
+
+    static final String INSERT_LEDGER_SQL = "INSERT INTO interest_ledger "
+            + "(id, account_number, period_yyyymm, interest_amount, new_balance) VALUES (?, ?, ?, ?, ?)";
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final LegacyCsvProperties props;
+    private final String periodYyyymm;
+
+    public ColumnarInterestTasklet(JdbcTemplate jdbcTemplate, IdBlockAllocator idAllocator,
+                                   LegacyCsvProperties props, String periodYyyymm) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.props = props;
+        this.periodYyyymm = periodYyyymm;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext context = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        long after = context.getLong(LAST_ID_KEY, 0L);
+
+        int blockSize = props.getInterest().getColumnarBlockSize();
+        AccountColumns block = new AccountColumns(blockSize);
+        jdbcTemplate.query(BLOCK_SQL, rs -> {
+            block.add(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4));
+        }, after, periodYyyymm, blockSize);
+        int accounts = block.size();
+        if (accounts == 0) {
+            return RepeatStatus.FINISHED;
+        }
+
+        block.computeInterest();
+
+        long firstLedgerId = idAllocator.reserve("interest_ledger", accounts);
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, new BlockSetter(accounts) {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, firstLedgerId + i);
+                ps.setString(2, block.accountNumbers[i]);
+                ps.setString(3, periodYyyymm);
+                ps.setBigDecimal(4, Money.toDecimal(block.interestCents[i]));
+                ps.setBigDecimal(5, Money.toDecimal(block.newBalanceCents[i]));
+            }
+        });
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, new BlockSetter(accounts) {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setBigDecimal(1, Money.toDecimal(block.newBalanceCents[i]));
+                ps.setLong(2, block.ids[i]);
+            }
+        });
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                // Cuenta borrada mientras corría: se revierte el bloque
+                throw new IllegalStateException("Cuenta id " + block.ids[i] + " desapareció durante el cálculo del bloque ("
+                        + after + ", " + block.lastId() + "]");
+            }
+        }
+
+        contribution.incrementWriteCount(accounts);
+        context.putLong(LAST_ID_KEY, block.lastId());
+        log.debug("Columnar interest for accounts ({}, {}]: {} rows", after, block.lastId(), accounts);
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    private abstract static class BlockSetter implements BatchPreparedStatementSetter {
+        private final int size;
+
+        BlockSetter(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+}
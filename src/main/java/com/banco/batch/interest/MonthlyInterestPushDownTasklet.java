@@ -0,0 +1,97 @@
+package com.banco.batch.interest;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.id.IdBlockAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Motor "sql" de monthlyInterestJob: calcula el interés dentro de la BD con un
+ * INSERT INTO interest_ledger ... SELECT y un UPDATE de saldos, sin traer cuentas a la JVM.
+ * Cada llamada procesa el siguiente rango de hasta legacy.interest.push-down-range-size
+ * cuentas por id (una transacción por rango) y guarda el último id en el ExecutionContext,
+ * así que un restart sigue desde el rango siguiente. Los rangos sólo cuentan cuentas sin
+ * interés del período (anti-join con interest_ledger), así que una nueva ejecución del mismo
+ * período sólo postea las que faltan; el UPDATE toma el saldo nuevo de las filas recién insertadas.
+ * Usa la misma aritmética que MonthlyInterestProcessor (Money.monthlyInterest): saldo * tasa / 12
+ * exacto en DECIMAL, redondeado a 2 decimales mitad al par. ROUND de H2 redondea mitad lejos
+ * de cero, así que los empates (resto exacto de medio centavo, detectado con MOD sobre
+ * centavos * diezmilésimos) se redondean a la mitad y se duplican: 2 * ROUND(x / 2, 2).
+ * Que los resultados coincidan con el motor jvm sólo está probado sobre H2; en MySQL y PostgreSQL
+ * depende de su ROW_NUMBER, MOD y ROUND sobre DECIMAL y no está verificado.
+ */
+@Slf4j
+public class MonthlyInterestPushDownTasklet implements Tasklet {
+
+    static final String LAST_ID_KEY = "pushDown.lastId";
+
+    static final String PRODUCT = "balance * COALESCE(annual_interest_rate, 0)";
+
+    static final String INTEREST = "(CASE WHEN ABS(MOD(" + PRODUCT + " * 1000000, 120000)) = 60000"
+            + " THEN 2 * ROUND(" + PRODUCT + " / 24, 2) ELSE ROUND(" + PRODUCT + " / 12, 2) END)";
+
+    static final String NOT_POSTED = "NOT EXISTS (SELECT 1 FROM interest_ledger l "
+            + "WHERE l.account_number = accounts.account_number AND l.period_yyyymm = ?)";
+
+    static final String RANGE_SQL = "SELECT COUNT(*) AS accounts, MAX(id) AS last_id FROM "
+            + "(SELECT id FROM accounts WHERE id > ? AND " + NOT_POSTED + " ORDER BY id LIMIT ?) r";
+
+    static final String INSERT_LEDGER_SQL = "INSERT INTO interest_ledger "
+            + "(id, account_number, period_yyyymm, interest_amount, new_balance) "
+            + "SELECT ROW_NUMBER() OVER (ORDER BY id) + ? - 1, account_number, ?, "
+            + INTEREST + ", balance + " + INTEREST + " FROM accounts WHERE id > ? AND id <= ? AND " + NOT_POSTED;
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = (SELECT l.new_balance FROM interest_ledger l "
+            + "WHERE l.account_number = accounts.account_number AND l.period_yyyymm = ?) "
+            + "WHERE id > ? AND id <= ? AND account_number IN "
+            + "(SELECT account_number FROM interest_ledger WHERE id >= ? AND id < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final LegacyCsvProperties props;
+    private final String periodYyyymm;
+
+    public MonthlyInterestPushDownTasklet(JdbcTemplate jdbcTemplate, IdBlockAllocator idAllocator,
+                                          LegacyCsvProperties props, String periodYyyymm) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.props = props;
+        this.periodYyyymm = periodYyyymm;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext context = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        long after = context.getLong(LAST_ID_KEY, 0L);
+
+        Map<String, Object> range = jdbcTemplate.queryForMap(RANGE_SQL, after, periodYyyymm,
+                props.getInterest().getPushDownRangeSize());
+        int accounts = ((Number) range.get("accounts")).intValue();
+        if (accounts == 0) {
+            return RepeatStatus.FINISHED;
+        }
+        long lastId = ((Number) range.get("last_id")).longValue();
+
+        long firstLedgerId = idAllocator.reserve("interest_ledger", accounts);
+        int inserted = jdbcTemplate.update(INSERT_LEDGER_SQL, firstLedgerId, periodYyyymm, after, lastId, periodYyyymm);
+        int updated = jdbcTemplate.update(UPDATE_BALANCE_SQL, periodYyyymm, after, lastId,
+                firstLedgerId, firstLedgerId + accounts);
+        if (inserted != accounts || updated != accounts) {
+            // Cuentas creadas o borradas dentro del rango mientras corría: se revierte el rango
+            throw new IllegalStateException("Rango (" + after + ", " + lastId + "] cambió durante el cálculo: "
+                    + accounts + " cuentas, " + inserted + " ledger, " + updated + " saldos");
+        }
+
+        contribution.incrementWriteCount(inserted);
+        context.putLong(LAST_ID_KEY, lastId);
+        log.debug("Interest pushed down for accounts ({}, {}]: {} rows", after, lastId, inserted);
+        return RepeatStatus.CONTINUABLE;
+    }
+}
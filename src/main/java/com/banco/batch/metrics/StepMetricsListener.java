@@ -0,0 +1,140 @@
+package com.banco.batch.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas por step, etiquetadas con job, step y partition (la parte después de ':' en los
+ * workers particionados; "none" si no hay):
+ * <ul>
+ *   <li>banco.batch.chunk: timer con histograma de la duración de cada chunk (outcome=success/error).</li>
+ *   <li>banco.batch.step.throughput: gauge de filas escritas por segundo desde el inicio del step.</li>
+ * </ul>
+ * Los tiempos por ítem de lectura, proceso y escritura ya los publica Spring Batch
+ * (spring.batch.item.read, spring.batch.item.process, spring.batch.chunk.write); este listener
+ * no los duplica, así que el costo por ítem es cero y por chunk son dos nanoTime y un record.
+ */
+@Component
+public class StepMetricsListener implements StepExecutionListener, ChunkListener {
+
+    static final String CHUNK_TIMER = "banco.batch.chunk";
+    static final String THROUGHPUT_GAUGE = "banco.batch.step.throughput";
+
+    private final MeterRegistry registry;
+
+    /** Meters de las step executions en curso. */
+    private final Map<Long, StepMeters> running = new ConcurrentHashMap<>();
+    /** Valor de cada gauge por combinación de tags; el gauge queda con el último valor al terminar el step. */
+    private final Map<Tags, AtomicLong> throughput = new ConcurrentHashMap<>();
+    /** Inicio del chunk en curso; cada chunk lo procesa un único hilo. */
+    private final ThreadLocal<Long> chunkStart = new ThreadLocal<>();
+
+    public StepMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        Tags tags = tags(stepExecution);
+        AtomicLong rowsPerSecond = throughput.computeIfAbsent(tags, t -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(THROUGHPUT_GAUGE, value, AtomicLong::get)
+                    .tags(t)
+                    .baseUnit("rows/s")
+                    .description("Filas escritas por segundo desde el inicio del step")
+                    .register(registry);
+            return value;
+        });
+        rowsPerSecond.set(0);
+        running.put(stepExecution.getId(), new StepMeters(
+                chunkTimer(tags, "success"), chunkTimer(tags, "error"), rowsPerSecond, System.nanoTime()));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        StepMeters meters = running.remove(stepExecution.getId());
+        if (meters != null) {
+            meters.updateThroughput(stepExecution);
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        StepMeters meters = running.get(stepExecution.getId());
+        if (meters != null) {
+            meters.chunkSuccess.record(elapsedSinceChunkStart(), TimeUnit.NANOSECONDS);
+            meters.updateThroughput(stepExecution);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        StepMeters meters = running.get(context.getStepContext().getStepExecution().getId());
+        if (meters != null) {
+            meters.chunkError.record(elapsedSinceChunkStart(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long elapsedSinceChunkStart() {
+        Long start = chunkStart.get();
+        return start == null ? 0 : System.nanoTime() - start;
+    }
+
+    private Timer chunkTimer(Tags tags, String outcome) {
+        return Timer.builder(CHUNK_TIMER)
+                .tags(tags.and("outcome", outcome))
+                .description("Duración de cada chunk (lectura, proceso y escritura)")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    static Tags tags(StepExecution stepExecution) {
+        String stepName = stepExecution.getStepName();
+        int separator = stepName.indexOf(':');
+        String step = separator < 0 ? stepName : stepName.substring(0, separator);
+        String partition = separator < 0 ? "none" : stepName.substring(separator + 1);
+        return Tags.of("job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                "step", step, "partition", partition);
+    }
+
+    private static final class StepMeters {
+        private final Timer chunkSuccess;
+        private final Timer chunkError;
+        private final AtomicLong rowsPerSecond;
+        private final long startNanos;
+
+        StepMeters(Timer chunkSuccess, Timer chunkError, AtomicLong rowsPerSecond, long startNanos) {
+            this.chunkSuccess = chunkSuccess;
+            this.chunkError = chunkError;
+            this.rowsPerSecond = rowsPerSecond;
+            this.startNanos = startNanos;
+        }
+
+        void updateThroughput(StepExecution stepExecution) {
+            long elapsed = System.nanoTime() - startNanos;
+            if (elapsed > 0) {
+                rowsPerSecond.set(stepExecution.getWriteCount() * 1_000_000_000L / elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.banco.batch.migration;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Particiones mensuales de processed_transactions en PostgreSQL (la tabla se crea particionada por
+ * rango de txn_date en db/migration/postgresql/V2). Crea la partición de un mes si falta: al arrancar,
+ * la del mes actual y las de legacy.migration.partition-months-ahead meses siguientes; antes de cada
+ * job de ingesta, las de los meses de run.date (o run.from..run.to) más el siguiente.
+ * Las filas de meses sin partición caen en processed_transactions_default y se mueven a la del mes
+ * cuando ésta se crea. Con otras BD, o si la tabla no está particionada, no hace nada.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class ProcessedTransactionPartitions implements InitializingBean, JobExecutionListener {
+
+    static final String TABLE = "processed_transactions";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final DataSource dataSource;
+    private final LegacyCsvProperties props;
+    private final Set<YearMonth> created = ConcurrentHashMap.newKeySet();
+    private boolean partitioned;
+
+    public ProcessedTransactionPartitions(DataSource dataSource, LegacyCsvProperties props) {
+        this.dataSource = dataSource;
+        this.props = props;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try (Connection connection = dataSource.getConnection()) {
+            partitioned = DatabaseDriver.fromProductName(connection.getMetaData().getDatabaseProductName())
+                    == DatabaseDriver.POSTGRESQL && isPartitioned(connection);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("No se pudo inspeccionar " + TABLE, e);
+        }
+        if (partitioned) {
+            YearMonth current = YearMonth.now();
+            ensureRange(current, current.plusMonths(props.getMigration().getPartitionMonthsAhead()));
+        }
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        if (!partitioned) {
+            return;
+        }
+        JobParameters params = jobExecution.getJobParameters();
+        YearMonth first = null;
+        YearMonth last = null;
+        for (String key : new String[] {"run.date", "run.from", "run.to"}) {
+            YearMonth month = month(params.getString(key));
+            if (month != null) {
+                first = first == null || month.isBefore(first) ? month : first;
+                last = last == null || month.isAfter(last) ? month : last;
+            }
+        }
+        if (first == null) {
+            first = last = YearMonth.now();
+        }
+        ensureRange(first, last.plusMonths(1));
+    }
+
+    public void ensureRange(YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            ensure(month);
+        }
+    }
+
+    /**
+     * Crea la partición del mes si falta, moviendo antes las filas de ese mes que hayan quedado en la
+     * partición DEFAULT (ATTACH falla si la DEFAULT tiene filas del rango). Una transacción propia por
+     * mes, serializada con un advisory lock para que dos instancias no creen la misma partición.
+     */
+    public void ensure(YearMonth month) {
+        if (!partitioned || created.contains(month)) {
+            return;
+        }
+        String name = TABLE + "_" + month.format(SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "'))");
+                if (!exists(statement, name)) {
+                    statement.execute("CREATE TABLE " + name + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+                    int moved = statement.executeUpdate("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                            + " WHERE txn_date >= DATE '" + from + "' AND txn_date < DATE '" + to + "' RETURNING *) "
+                            + "INSERT INTO " + name + " SELECT * FROM moved");
+                    statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + name
+                            + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                    log.info("Created partition {} ({} rows moved from {})", name, moved, DEFAULT_PARTITION);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("No se pudo crear la partición " + name, e);
+        }
+        created.add(month);
+    }
+
+    private static boolean isPartitioned(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM pg_partitioned_table "
+                     + "WHERE partrelid = to_regclass('" + TABLE + "')")) {
+            return rs.next() && rs.getLong(1) > 0;
+        }
+    }
+
+    private static boolean exists(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT to_regclass('" + table + "') IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static YearMonth month(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return YearMonth.from(LocalDate.parse(date.trim()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.banco.batch.model;
 
+import com.banco.batch.money.CentsConverter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * Representa una cuenta bancaria.
  * type: SAVINGS o LOAN.
  * annualInterestRate: tasa anual (0.03 = 3%).
+ * balanceCents: saldo en centavos (ver money.Money).
  */
 @Entity @Table(name = "accounts")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
@@ -20,9 +24,11 @@ public class Account {
     @Column(nullable = false)
     private String type;
 
-    @Column(nullable = false)
-    private Double balance;
+    @Column(name = "balance", nullable = false, precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long balanceCents;
 
-    @Column(nullable = false, name = "annual_interest_rate")
+    @Column(nullable = false, name = "annual_interest_rate", precision = 5, scale = 4)
+    @JdbcTypeCode(SqlTypes.DECIMAL)
     private Double annualInterestRate;
 }
@@ -1,15 +1,17 @@
 package com.banco.batch.model;
 
+import com.banco.batch.id.BlockId;
+import com.banco.batch.money.CentsConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
 /**
- * Resumen anual por cuenta.
+ * Resumen anual por cuenta. Montos en centavos.
  */
 @Entity @Table(name = "annual_statement")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class AnnualStatement {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @BlockId("annual_statement")
     private Long id;
 
     @Column(name = "account_number")
@@ -18,12 +20,15 @@ public class AnnualStatement {
     @Column(name = "`year`")
     private Integer year;
 
-    @Column(name = "total_deposits")
-    private Double totalDeposits;
+    @Column(name = "total_deposits", precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long totalDepositsCents;
 
-    @Column(name = "total_withdrawals")
-    private Double totalWithdrawals; // valor absoluto
+    @Column(name = "total_withdrawals", precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long totalWithdrawalsCents; // valor absoluto
 
-    @Column(name = "end_balance")
-    private Double endBalance;
+    @Column(name = "end_balance", precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long endBalanceCents;
 }
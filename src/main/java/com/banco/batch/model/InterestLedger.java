@@ -1,15 +1,20 @@
 package com.banco.batch.model;
 
+import com.banco.batch.id.BlockId;
+import com.banco.batch.money.CentsConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
 /**
- * Libro mayor de intereses mensuales.
+ * Libro mayor de intereses mensuales. Montos en centavos.
+ * Una sola fila por cuenta y período: un cierre repetido no puede postear dos veces.
  */
-@Entity @Table(name = "interest_ledger")
+@Entity
+@Table(name = "interest_ledger", uniqueConstraints = @UniqueConstraint(
+        name = "uk_interest_ledger_account_period", columnNames = {"account_number", "period_yyyymm"}))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class InterestLedger {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @BlockId("interest_ledger")
     private Long id;
 
     @Column(name = "account_number")
@@ -18,9 +23,11 @@ public class InterestLedger {
     @Column(name = "period_yyyymm")
     private String periodYyyymm; // YYYY-MM
 
-    @Column(name = "interest_amount")
-    private Double interestAmount;
+    @Column(name = "interest_amount", precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long interestCents;
 
-    @Column(name = "new_balance")
-    private Double newBalance;
+    @Column(name = "new_balance", precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long newBalanceCents;
 }
@@ -1,5 +1,7 @@
 package com.banco.batch.model;
 
+import com.banco.batch.id.BlockId;
+import com.banco.batch.money.CentsConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,10 +10,12 @@ import java.sql.Date;
 /**
  * Resultado de procesar el CSV: incluye anomalías y mensaje explicativo.
  */
-@Entity @Table(name = "processed_transactions")
+@Entity
+@Table(name = "processed_transactions", indexes = @Index(
+        name = "idx_processed_txn_account_date", columnList = "account_number, txn_date"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ProcessedTransaction {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @BlockId("processed_transactions")
     private Long id;
 
     @Column(name = "account_number")
@@ -20,11 +24,19 @@ public class ProcessedTransaction {
     @Column(name = "txn_date")
     private Date txnDate;
 
-    private Double amount;
+    /** Monto en centavos. */
+    @Column(name = "amount", precision = 18, scale = 2)
+    @Convert(converter = CentsConverter.class)
+    private long amountCents;
+
     private String category;
 
     @Column(nullable = false)
     private Boolean anomaly;
 
     private String message;
+
+    /** Clave id|fecha|monto de la fila legacy (ver TransactionDeduplicator); null en duplicados marcados. */
+    @Column(name = "dedup_key", unique = true)
+    private String dedupKey;
 }
@@ -12,21 +12,23 @@ public class TransactionRecord {
     private String fecha;     // Fecha en formato YYYY-MM-DD o YYYY/MM/DD
     private String monto;     // Monto como string para validar/parsear
     private String tipo;      // Tipo: debito, credito, etc.
+    private String archivo;   // Archivo de origen (nombre lógico, sin .gz)
+    private long linea;       // Línea física dentro del archivo (1 = encabezado)
 
     // Métodos de compatibilidad para el processor existente
     public String getAccountNumber() {
-        return this.id; // Usar ID como número de cuenta por ahora
+        return getId(); // Usar ID como número de cuenta por ahora
     }
 
     public String getTxnDate() {
-        return this.fecha;
+        return getFecha();
     }
 
     public String getAmount() {
-        return this.monto;
+        return getMonto();
     }
 
     public String getCategory() {
-        return this.tipo;
+        return getTipo();
     }
 }
@@ -0,0 +1,73 @@
+package com.banco.batch.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de dinero en centavos (long) con redondeo bancario (mitad al par).
+ * Los montos viajan como long por processors, snapshot y entidades; BigDecimal sólo
+ * aparece en el borde con la BD (DECIMAL(18,2), ver {@link CentsConverter}).
+ * Las tasas anuales (DECIMAL(5,4)) se manejan en diezmilésimos: 0.0300 = 300.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    /** Diezmilésimos por unidad de tasa (escala de annual_interest_rate). */
+    public static final long RATE_UNITS = 10_000;
+
+    private static final long MONTHLY_DIVISOR = 12 * RATE_UNITS;
+
+    private Money() { }
+
+    /**
+     * @return el monto en centavos, redondeado mitad al par si trae más de 2 decimales.
+     * @throws ArithmeticException si no entra en un long.
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Convierte una tasa leída como double a diezmilésimos. Exacto para valores que vienen
+     * de DECIMAL(5,4): el double más cercano, por 10000, redondea al entero original.
+     */
+    public static long rateUnits(Double rate) {
+        return rate == null ? 0 : Math.round(rate * RATE_UNITS);
+    }
+
+    /**
+     * Interés mensual simple en centavos: balance * tasa / 12, redondeado mitad al par.
+     *
+     * @param rateUnits tasa anual en diezmilésimos (ver {@link #rateUnits(Double)}).
+     */
+    public static long monthlyInterest(long balanceCents, long rateUnits) {
+        long high = Math.multiplyHigh(balanceCents, rateUnits);
+        long low = balanceCents * rateUnits;
+        if (high == (low >> 63)) {
+            return divideHalfEven(low, MONTHLY_DIVISOR);
+        }
+        // Saldos de más de ~9 * 10^14 centavos: el producto no entra en un long
+        return new BigDecimal(BigInteger.valueOf(balanceCents).multiply(BigInteger.valueOf(rateUnits)))
+                .divide(BigDecimal.valueOf(MONTHLY_DIVISOR), 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+
+    /**
+     * División entera redondeada mitad al par (divisor positivo).
+     */
+    public static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        long twice = remainder * 2;
+        if (twice > divisor || (twice == divisor && (quotient & 1) != 0)) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,41 @@
+package com.banco.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Divide accounts en gridSize rangos contiguos de id [minId, maxId] (entre el menor y el
+ * mayor id existente). Cada partición recibe minId y maxId en su ExecutionContext.
+ */
+public class AccountIdRangePartitioner implements Partitioner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountIdRangePartitioner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM accounts");
+        if (bounds.get("min_id") == null) {
+            return partitions;
+        }
+        long min = ((Number) bounds.get("min_id")).longValue();
+        long max = ((Number) bounds.get("max_id")).longValue();
+        long span = Math.max(1, (max - min + 1 + gridSize - 1) / Math.max(1, gridSize));
+        int index = 0;
+        for (long start = min; start <= max; start += span) {
+            ExecutionContext context = new ExecutionContext();
+            context.putLong("minId", start);
+            context.putLong("maxId", Math.min(max, start + span - 1));
+            partitions.put("accounts" + index++, context);
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,32 @@
+package com.banco.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Una partición por archivo diario (fileName en el ExecutionContext). El nombre de la
+ * partición es el del archivo, así un restart sólo vuelve a correr los días no completados.
+ */
+public class DailyFilesPartitioner implements Partitioner {
+
+    private final List<String> fileNames;
+
+    public DailyFilesPartitioner(List<String> fileNames) {
+        this.fileNames = fileNames;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        for (String fileName : fileNames) {
+            ExecutionContext context = new ExecutionContext();
+            context.putString("fileName", fileName);
+            partitions.put(fileName, context);
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,102 @@
+package com.banco.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Divide un CSV en gridSize rangos de bytes alineados a inicio de línea.
+ * Cada partición recibe en su ExecutionContext: fileName, start, end y firstLine (línea física
+ * que empieza en start). Para firstLine cuenta los '\n' de cada rango, así que recorre el archivo
+ * completo una vez.
+ */
+public class TransactionFileRangePartitioner implements Partitioner {
+
+    private static final int SCAN_BUFFER = 8 * 1024;
+    private static final int COUNT_BUFFER = 1024 * 1024;
+
+    private final Path file;
+    private final String fileName;
+
+    public TransactionFileRangePartitioner(Path file, String fileName) {
+        this.file = file;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long step = Math.max(1, size / Math.max(1, gridSize));
+            long start = 0;
+            long firstLine = 1;
+            int index = 0;
+            while (start < size) {
+                long end = index == gridSize - 1 ? size : nextLineStart(channel, start + step, size);
+                ExecutionContext context = new ExecutionContext();
+                context.putString("fileName", fileName);
+                context.putLong("start", start);
+                context.putLong("end", end);
+                context.putLong("firstLine", firstLine);
+                partitions.put("range" + index, context);
+                firstLine += countLines(channel, start, end);
+                start = end;
+                index++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo particionar " + file, e);
+        }
+        return partitions;
+    }
+
+    /**
+     * @return offset del primer byte después del siguiente '\n' a partir de from, o size.
+     */
+    private long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+        long pos = from;
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static long countLines(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(COUNT_BUFFER);
+        long lines = 0;
+        long pos = from;
+        while (pos < to) {
+            buffer.clear().limit((int) Math.min(COUNT_BUFFER, to - pos));
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            pos += read;
+        }
+        return lines;
+    }
+}
@@ -2,46 +2,44 @@ package com.banco.batch.processor;
 
 import com.banco.batch.model.Account;
 import com.banco.batch.model.AnnualStatement;
-import com.banco.batch.repository.ProcessedTransactionRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
+import com.banco.batch.money.Money;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.sql.Date;
-import java.time.LocalDate;
-
 /**
- * Resume depósitos (>0) y retiros (<0) del año target para cada cuenta.
+ * Resume depósitos (>0) y retiros (<0) del año run.year para cada cuenta.
+ * Lee a lo sumo 12 filas de account_monthly_totals (las mantiene el reporte diario), no las
+ * transacciones del año; suma en centavos exactos, sin el redondeo binario de double.
+ * Hace una consulta por cuenta; el motor "sql" (AnnualAggregateReader) agrega todo en una sola.
  */
 @Component
-@RequiredArgsConstructor
+@StepScope
 public class AnnualStatementProcessor implements ItemProcessor<Account, AnnualStatement> {
 
-    private final ProcessedTransactionRepository txnRepo;
+    static final String TOTALS_SQL = "SELECT COALESCE(SUM(deposits), 0), COALESCE(SUM(withdrawals), 0) "
+            + "FROM account_monthly_totals WHERE account_number = ? AND period_yyyymm BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int targetYear;
 
-    @Setter
-    private Integer targetYear = 2025;
+    public AnnualStatementProcessor(JdbcTemplate jdbcTemplate,
+                                    @Value("#{jobParameters['run.year']}") int targetYear) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.targetYear = targetYear;
+    }
 
     @Override
     public AnnualStatement process(Account acc) {
-        Date start = Date.valueOf(LocalDate.of(targetYear, 1, 1));
-        Date end = Date.valueOf(LocalDate.of(targetYear, 12, 31));
-
-        java.util.List<com.banco.batch.model.ProcessedTransaction> txns = txnRepo.findByAccountNumberAndTxnDateBetween(
-                acc.getAccountNumber(), start, end);
-
-        double deposits = txns.stream().mapToDouble(t -> Math.max(0, t.getAmount())).sum();
-        double withdrawals = txns.stream().mapToDouble(t -> Math.min(0, t.getAmount())).sum();
-
-        return AnnualStatement.builder()
-                .accountNumber(acc.getAccountNumber())
-                .year(targetYear)
-                .totalDeposits(round2(deposits))
-                .totalWithdrawals(round2(Math.abs(withdrawals)))
-                .endBalance(round2(acc.getBalance()))
-                .build();
+        return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> AnnualStatement.builder()
+                        .accountNumber(acc.getAccountNumber())
+                        .year(targetYear)
+                        .totalDepositsCents(Money.toCents(rs.getBigDecimal(1)))
+                        .totalWithdrawalsCents(Money.toCents(rs.getBigDecimal(2)))
+                        .endBalanceCents(acc.getBalanceCents())
+                        .build(),
+                acc.getAccountNumber(), targetYear + "-01", targetYear + "-12");
     }
-
-    private double round2(double v){ return Math.round(v * 100.0) / 100.0; }
 }
@@ -1,183 +1,134 @@
 package com.banco.batch.processor;
 
+import com.banco.batch.anomaly.AnomalyAccumulator;
+import com.banco.batch.cache.AccountSnapshot;
+import com.banco.batch.cache.AccountSnapshotCache;
+import com.banco.batch.dedup.TransactionDeduplicator;
 import com.banco.batch.model.Account;
 import com.banco.batch.model.ProcessedTransaction;
 import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.processor.rules.CompiledTransactionRules;
+import com.banco.batch.processor.rules.TransactionCheck;
+import com.banco.batch.processor.rules.TransactionRule;
 import com.banco.batch.repository.AccountRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.sql.Date;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
 
 /**
  * Valida cada fila del CSV y marca anomalías con mensaje.
- * Implementa reglas de validación comprehensivas para asegurar consistencia de datos.
+ * Las reglas (ver processor.rules) se compilan una vez por step: reglas estándar más
+ * cualquier bean TransactionRule adicional, con la ventana de fechas fija al inicio del step.
+ * Antes de validar, descarta las filas ya ingeridas y marca las repetidas (ver TransactionDeduplicator).
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class DailyTransactionProcessor implements ItemProcessor<TransactionRecord, ProcessedTransaction> {
+public class DailyTransactionProcessor implements ItemProcessor<TransactionRecord, ProcessedTransaction>,
+        StepExecutionListener {
 
-    private final AccountRepository accountRepository;
+    /**
+     * txn_date de las filas sin fecha válida. Es fija (y no la del día de la ingesta) para que la
+     * misma fila reingerida otro día repita (dedup_key, txn_date), la clave única de PostgreSQL.
+     */
+    public static final LocalDate UNKNOWN_DATE = LocalDate.of(1900, 1, 1);
 
-    // Tipos válidos de transacciones del sistema legacy
-    private static final List<String> VALID_TIPOS = Arrays.asList(
-        "credito", "debito", "transferencia", "pago", "retiro", "deposito"
-    );
+    private final AccountRepository accountRepository;
+    private final AccountSnapshotCache accountCache;
+    private final ObjectProvider<TransactionRule> extraRules;
+    private final AnomalyAccumulator anomalies;
+    private final TransactionDeduplicator deduplicator;
+
+    private volatile CompiledTransactionRules rules;
+
+    public DailyTransactionProcessor(AccountRepository accountRepository,
+                                     AccountSnapshotCache accountCache,
+                                     ObjectProvider<TransactionRule> extraRules,
+                                     AnomalyAccumulator anomalies,
+                                     TransactionDeduplicator deduplicator) {
+        this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+        this.extraRules = extraRules;
+        this.anomalies = anomalies;
+        this.deduplicator = deduplicator;
+        this.rules = compileRules();
+    }
 
-    // Límites de transacciones
-    private static final BigDecimal MAX_TRANSACTION_AMOUNT = new BigDecimal("1000000.00");
-    private static final BigDecimal MIN_TRANSACTION_AMOUNT = new BigDecimal("-1000000.00");
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        rules = compileRules();
+    }
 
     @Override
     public ProcessedTransaction process(TransactionRecord item) {
         log.debug("Processing transaction for account: {}", item.getAccountNumber());
 
-        boolean anomaly = false;
-        StringBuilder msg = new StringBuilder();
-
-        // Validación 1: Campos obligatorios
-        if (isNullOrEmpty(item.getAccountNumber())) {
-            anomaly = true;
-            msg.append("Número de cuenta vacío; ");
-        }
-
-        if (isNullOrEmpty(item.getAmount())) {
-            anomaly = true;
-            msg.append("Monto vacío; ");
-        }
-
-        if (isNullOrEmpty(item.getTxnDate())) {
-            anomaly = true;
-            msg.append("Fecha vacía; ");
-        }
-
-        // Validación 2: Existencia de cuenta
-        Optional<Account> accountOpt = Optional.empty();
-        if (!isNullOrEmpty(item.getAccountNumber())) {
-            accountOpt = accountRepository.findByAccountNumber(item.getAccountNumber().trim());
-            if (accountOpt.isEmpty()) {
-                anomaly = true;
-                msg.append("Cuenta inexistente; ");
+        String dedupKey = null;
+        boolean duplicate = false;
+        if (deduplicator.isActive()) {
+            dedupKey = TransactionDeduplicator.keyOf(item);
+            TransactionDeduplicator.Outcome outcome = deduplicator.classify(dedupKey, item);
+            if (outcome == TransactionDeduplicator.Outcome.INGESTED) {
+                return null;
             }
-        }
-
-        // Validación 3: Formato y rango de monto
-        Double amount = 0d;
-        if (!isNullOrEmpty(item.getAmount())) {
-            try {
-                amount = Double.parseDouble(item.getAmount().trim());
-                BigDecimal amountBD = new BigDecimal(amount.toString());
-
-                if (amountBD.compareTo(MAX_TRANSACTION_AMOUNT) > 0) {
-                    anomaly = true;
-                    msg.append("Monto excede límite máximo; ");
-                } else if (amountBD.compareTo(MIN_TRANSACTION_AMOUNT) < 0) {
-                    anomaly = true;
-                    msg.append("Monto excede límite mínimo; ");
-                }
-
-                if (amount == 0) {
-                    anomaly = true;
-                    msg.append("Monto no puede ser cero; ");
-                }
-
-            } catch (NumberFormatException e) {
-                anomaly = true;
-                msg.append("Formato de monto inválido; ");
-                log.warn("Invalid amount format: {} for account: {}", item.getAmount(), item.getAccountNumber());
+            if (outcome == TransactionDeduplicator.Outcome.DUPLICATE) {
+                // Se guarda como anomalía sin clave, para no chocar con el índice único
+                dedupKey = null;
+                duplicate = true;
             }
         }
 
-        // Validación 4: Formato de fecha
-        Date date = null;
-        if (!isNullOrEmpty(item.getTxnDate())) {
-            try {
-                LocalDate localDate = LocalDate.parse(item.getTxnDate().trim(), DateTimeFormatter.ISO_LOCAL_DATE);
-                date = Date.valueOf(localDate);
-
-                // Validar que la fecha no sea futura
-                if (localDate.isAfter(LocalDate.now())) {
-                    anomaly = true;
-                    msg.append("Fecha futura no permitida; ");
-                }
-
-                // Validar que la fecha no sea muy antigua (más de 10 años)
-                if (localDate.isBefore(LocalDate.now().minusYears(10))) {
-                    anomaly = true;
-                    msg.append("Fecha muy antigua; ");
-                }
-
-            } catch (DateTimeParseException e) {
-                anomaly = true;
-                msg.append("Formato de fecha inválido (usar YYYY-MM-DD); ");
-                date = new Date(System.currentTimeMillis());
-                log.warn("Invalid date format: {} for account: {}", item.getTxnDate(), item.getAccountNumber());
-            }
-        } else {
-            date = new Date(System.currentTimeMillis());
+        TransactionCheck check = new TransactionCheck(item, this::lookupAccount);
+        rules.apply(check);
+        if (duplicate) {
+            check.fail(TransactionDeduplicator.DUPLICATE_MESSAGE);
         }
 
-        // Validación 5: Tipo de transacción (legacy format)
-        String tipo = item.getCategory(); // getCategory() mapea a getTipo()
-        if (!isNullOrEmpty(tipo)) {
-            tipo = tipo.trim().toLowerCase();
-            if (!VALID_TIPOS.contains(tipo)) {
-                anomaly = true;
-                msg.append("Tipo de transacción inválido; ");
-            }
-        } else {
-            tipo = "unknown";
-            anomaly = true;
-            msg.append("Tipo de transacción vacío; ");
+        // Conteo de anomalías para monitoreo (log muestreado, resumen al final del step)
+        if (check.isAnomaly()) {
+            anomalies.record(check);
         }
 
-        // Validación 6: Reglas de negocio específicas por tipo de cuenta
-        if (accountOpt.isPresent() && amount != null) {
-            Account account = accountOpt.get();
-
-            // Para cuentas de ahorro, validar retiros excesivos
-            if ("SAVINGS".equals(account.getType()) && amount < 0) {
-                double newBalance = account.getBalance() + amount;
-                if (newBalance < 0) {
-                    anomaly = true;
-                    msg.append("Retiro excede saldo disponible; ");
-                }
-            }
+        return ProcessedTransaction.builder()
+                .accountNumber(item.getAccountNumber() != null ? item.getAccountNumber().trim() : null)
+                .txnDate(Date.valueOf(check.getDate() != null ? check.getDate() : UNKNOWN_DATE))
+                .amountCents(check.isAmountParsed() ? check.getAmountCents() : 0L)
+                .category(check.getTipo())
+                .anomaly(check.isAnomaly())
+                .message(check.message())
+                .dedupKey(dedupKey)
+                .build();
+    }
 
-            // Para préstamos, validar que los pagos sean positivos
-            if ("LOAN".equals(account.getType()) && "pago".equals(tipo) && amount < 0) {
-                anomaly = true;
-                msg.append("Pago de préstamo debe ser positivo; ");
+    /**
+     * Snapshot del step si está cargado; si no (p. ej. fuera de un step), la BD.
+     */
+    private boolean lookupAccount(String accountNumber, TransactionCheck check) {
+        if (accountCache.isActive()) {
+            AccountSnapshot table = accountCache.resolve(accountNumber);
+            if (table == null) {
+                return false;
             }
+            int slot = table.slotOf(accountNumber);
+            check.setAccountType(table.typeAt(slot));
+            check.setAccountBalanceCents(table.balanceAt(slot));
+            return true;
         }
-
-        // Log de anomalías para monitoreo
-        if (anomaly) {
-            log.warn("Transaction anomaly detected for account {}: {}",
-                item.getAccountNumber(), msg.toString().trim());
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return false;
         }
-
-        return ProcessedTransaction.builder()
-                .accountNumber(item.getAccountNumber() != null ? item.getAccountNumber().trim() : null)
-                .txnDate(date)
-                .amount(amount)
-                .category(tipo)
-                .anomaly(anomaly)
-                .message(msg.length() == 0 ? null : msg.toString().trim())
-                .build();
+        check.setAccountType(account.getType());
+        check.setAccountBalanceCents(account.getBalanceCents());
+        return true;
     }
 
-    private boolean isNullOrEmpty(String str) {
-        return str == null || str.trim().isEmpty();
+    private CompiledTransactionRules compileRules() {
+        return CompiledTransactionRules.compile(LocalDate.now(), extraRules.orderedStream().toList());
     }
 }
@@ -2,32 +2,37 @@ package com.banco.batch.processor;
 
 import com.banco.batch.model.Account;
 import com.banco.batch.model.InterestLedger;
-import lombok.Setter;
+import com.banco.batch.money.Money;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * Calcula interés mensual simple: interest = balance * (tasaAnual/12).
+ * El cálculo es exacto en centavos (long) con redondeo bancario (ver Money.monthlyInterest),
+ * igual que el motor "sql" (MonthlyInterestPushDownTasklet), así ambos dan los mismos resultados.
+ * El período sale del parámetro run.period de cada ejecución.
  */
 @Component
+@StepScope
 public class MonthlyInterestProcessor implements ItemProcessor<Account, InterestLedger> {
 
-    @Setter
-    private String periodYyyymm = "2025-08";
+    private final String periodYyyymm;
+
+    public MonthlyInterestProcessor(@Value("#{jobParameters['run.period']}") String periodYyyymm) {
+        this.periodYyyymm = periodYyyymm;
+    }
 
     @Override
     public InterestLedger process(Account acc) {
-        double rate = (acc.getAnnualInterestRate() == null ? 0.0 : acc.getAnnualInterestRate()) / 12.0;
-        double interest = round2(acc.getBalance() * rate);
-        double newBalance = round2(acc.getBalance() + interest);
+        long interest = Money.monthlyInterest(acc.getBalanceCents(), Money.rateUnits(acc.getAnnualInterestRate()));
 
         return InterestLedger.builder()
                 .accountNumber(acc.getAccountNumber())
                 .periodYyyymm(periodYyyymm)
-                .interestAmount(interest)
-                .newBalance(newBalance)
+                .interestCents(interest)
+                .newBalanceCents(Math.addExact(acc.getBalanceCents(), interest))
                 .build();
     }
-
-    private double round2(double v){ return Math.round(v * 100.0) / 100.0; }
 }
@@ -0,0 +1,12 @@
+package com.banco.batch.processor.rules;
+
+/**
+ * Resuelve la cuenta de una fila (snapshot del step o BD) y carga tipo/saldo en el check.
+ */
+@FunctionalInterface
+public interface AccountLookup {
+    /**
+     * @return true si la cuenta existe.
+     */
+    boolean resolve(String accountNumber, TransactionCheck check);
+}
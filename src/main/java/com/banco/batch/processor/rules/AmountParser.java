@@ -0,0 +1,80 @@
+package com.banco.batch.processor.rules;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Parsea montos del CSV directo a centavos (long) sin pasar por Double ni BigDecimal
+ * en el caso común: [+-]dígitos[.dígitos] con hasta 2 decimales. Otras formas válidas
+ * (exponentes, más decimales, valores enormes) se resuelven con BigDecimal y redondeo bancario;
+ * más de 19 dígitos enteros o 64 decimales se rechazan como formato inválido.
+ */
+public final class AmountParser {
+
+    private static final int MAX_FAST_DIGITS = 16;
+
+    /** Dígitos enteros máximos (más que un long de centavos); más allá el monto se rechaza. */
+    private static final int MAX_INTEGER_DIGITS = 19;
+
+    /** Decimales máximos: con exponentes muy negativos setScale tendría que dividir por 10^escala. */
+    private static final int MAX_SCALE = 64;
+
+    private AmountParser() { }
+
+    /**
+     * @throws NumberFormatException si el texto no es un número.
+     */
+    public static long parseCents(String text) {
+        int len = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < len && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long cents = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fractionDigits >= 0) {
+                    if (++fractionDigits > 2) {
+                        return parseSlow(text);
+                    }
+                }
+                if (++digits > MAX_FAST_DIGITS) {
+                    return parseSlow(text);
+                }
+                cents = cents * 10 + (c - '0');
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseSlow(text);
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Monto sin dígitos: " + text);
+        }
+        for (int f = Math.max(0, fractionDigits); f < 2; f++) {
+            cents *= 10;
+        }
+        return negative ? -cents : cents;
+    }
+
+    private static long parseSlow(String text) {
+        BigDecimal parsed = new BigDecimal(text);
+        // Antes de setScale: 1e999999999 obligaría a un reescalado de 10^999999999
+        if (parsed.precision() - parsed.scale() > MAX_INTEGER_DIGITS || parsed.scale() > MAX_SCALE) {
+            throw new NumberFormatException("Monto fuera de rango: " + text);
+        }
+        BigDecimal value = parsed.setScale(2, RoundingMode.HALF_EVEN).movePointRight(2);
+        if (value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return value.longValueExact();
+    }
+}
@@ -0,0 +1,37 @@
+package com.banco.batch.processor.rules;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pipeline de reglas armado una vez por step: reglas estándar + reglas adicionales (beans),
+ * con la fecha de referencia fija para todo el step.
+ */
+public final class CompiledTransactionRules {
+
+    private final TransactionRule[] rules;
+
+    private CompiledTransactionRules(TransactionRule[] rules) {
+        this.rules = rules;
+    }
+
+    public static CompiledTransactionRules compile(LocalDate today, List<TransactionRule> extraRules) {
+        List<TransactionRule> all = new ArrayList<>();
+        all.add(StandardTransactionRules.requiredFields());
+        all.add(StandardTransactionRules.accountExists());
+        all.add(StandardTransactionRules.amount());
+        all.add(StandardTransactionRules.date(today));
+        all.add(StandardTransactionRules.tipo());
+        all.add(StandardTransactionRules.savingsOverdraft());
+        all.add(StandardTransactionRules.loanPaymentPositive());
+        all.addAll(extraRules);
+        return new CompiledTransactionRules(all.toArray(new TransactionRule[0]));
+    }
+
+    public void apply(TransactionCheck check) {
+        for (TransactionRule rule : rules) {
+            rule.check(check);
+        }
+    }
+}
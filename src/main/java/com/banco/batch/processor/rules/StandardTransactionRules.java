@@ -0,0 +1,174 @@
+package com.banco.batch.processor.rules;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reglas estándar del reporte diario, en el mismo orden en que se reportan los mensajes.
+ * Las ventanas de fecha se calculan una vez al compilar (ver {@link CompiledTransactionRules}).
+ * Las reglas no loguean: el conteo y el log muestreado los hace AnomalyAccumulator.
+ */
+public final class StandardTransactionRules {
+
+    // Tipos válidos de transacciones del sistema legacy
+    static final Set<String> VALID_TIPOS = Set.of(
+        "credito", "debito", "transferencia", "pago", "retiro", "deposito"
+    );
+
+    // Límites de transacciones (en centavos)
+    static final long MAX_TRANSACTION_CENTS = 100_000_000L;
+    static final long MIN_TRANSACTION_CENTS = -100_000_000L;
+
+    private StandardTransactionRules() { }
+
+    /** Validación 1: Campos obligatorios. */
+    public static TransactionRule requiredFields() {
+        return check -> {
+            if (check.getAccountNumber() == null) {
+                check.fail("Número de cuenta vacío");
+            }
+            if (check.getRawAmount() == null) {
+                check.fail("Monto vacío");
+            }
+            if (check.getRawDate() == null) {
+                check.fail("Fecha vacía");
+            }
+        };
+    }
+
+    /** Validación 2: Existencia de cuenta. */
+    public static TransactionRule accountExists() {
+        return check -> {
+            if (check.getAccountNumber() == null) {
+                return;
+            }
+            boolean found = check.getAccountLookup().resolve(check.getAccountNumber(), check);
+            check.setAccountFound(found);
+            if (!found) {
+                check.fail("Cuenta inexistente");
+            }
+        };
+    }
+
+    /** Validación 3: Formato y rango de monto. */
+    public static TransactionRule amount() {
+        return check -> {
+            if (check.getRawAmount() == null) {
+                return;
+            }
+            long cents;
+            try {
+                cents = AmountParser.parseCents(check.getRawAmount());
+            } catch (NumberFormatException e) {
+                check.fail("Formato de monto inválido");
+                return;
+            }
+            check.setAmountCents(cents);
+            check.setAmountParsed(true);
+            if (cents > MAX_TRANSACTION_CENTS) {
+                check.fail("Monto excede límite máximo");
+            } else if (cents < MIN_TRANSACTION_CENTS) {
+                check.fail("Monto excede límite mínimo");
+            }
+            if (cents == 0) {
+                check.fail("Monto no puede ser cero");
+            }
+        };
+    }
+
+    /** Validación 4: Formato de fecha, contra una ventana [oldest, today] precalculada. */
+    public static TransactionRule date(LocalDate today) {
+        LocalDate oldest = today.minusYears(10);
+        return check -> {
+            if (check.getRawDate() == null) {
+                return;
+            }
+            LocalDate date = parseIsoDate(check.getRawDate());
+            if (date == null) {
+                check.fail("Formato de fecha inválido (usar YYYY-MM-DD)");
+                return;
+            }
+            check.setDate(date);
+            if (date.isAfter(today)) {
+                check.fail("Fecha futura no permitida");
+            }
+            if (date.isBefore(oldest)) {
+                check.fail("Fecha muy antigua");
+            }
+        };
+    }
+
+    /** Validación 5: Tipo de transacción (legacy format). */
+    public static TransactionRule tipo() {
+        return check -> {
+            if (check.getRawTipo() == null) {
+                check.setTipo("unknown");
+                check.fail("Tipo de transacción vacío");
+                return;
+            }
+            String tipo = check.getRawTipo().toLowerCase(Locale.ROOT);
+            check.setTipo(tipo);
+            if (!VALID_TIPOS.contains(tipo)) {
+                check.fail("Tipo de transacción inválido");
+            }
+        };
+    }
+
+    /** Validación 6a: en cuentas de ahorro, el retiro no puede dejar saldo negativo. */
+    public static TransactionRule savingsOverdraft() {
+        return check -> {
+            if (check.isAccountFound() && "SAVINGS".equals(check.getAccountType()) && check.getAmountCents() < 0) {
+                if (check.getAccountBalanceCents() + check.getAmountCents() < 0) {
+                    check.fail("Retiro excede saldo disponible");
+                }
+            }
+        };
+    }
+
+    /** Validación 6b: los pagos de préstamos deben ser positivos. */
+    public static TransactionRule loanPaymentPositive() {
+        return check -> {
+            if (check.isAccountFound() && "LOAN".equals(check.getAccountType())
+                    && "pago".equals(check.getTipo()) && check.getAmountCents() < 0) {
+                check.fail("Pago de préstamo debe ser positivo");
+            }
+        };
+    }
+
+    /**
+     * Parser rápido de yyyy-MM-dd; otros largos se delegan a ISO_LOCAL_DATE.
+     *
+     * @return la fecha o null si el formato es inválido.
+     */
+    static LocalDate parseIsoDate(String text) {
+        try {
+            if (text.length() != 10) {
+                return LocalDate.parse(text, DateTimeFormatter.ISO_LOCAL_DATE);
+            }
+            if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+                return null;
+            }
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            return year < 0 || month < 0 || day < 0 ? null : LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
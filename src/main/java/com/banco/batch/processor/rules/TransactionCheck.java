@@ -0,0 +1,88 @@
+package com.banco.batch.processor.rules;
+
+import com.banco.batch.model.TransactionRecord;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de validación de una fila: valores parseados una sola vez y mensajes de anomalía.
+ * El StringBuilder de mensajes se crea recién cuando falla la primera regla.
+ */
+@Getter
+public class TransactionCheck {
+
+    private final TransactionRecord record;
+    private final AccountLookup accountLookup;
+
+    /** Número de cuenta sin espacios, o null si vino vacío. */
+    private final String accountNumber;
+    private final String rawAmount;
+    private final String rawDate;
+    private final String rawTipo;
+
+    @Setter private boolean accountFound;
+    @Setter private String accountType;
+    /** Saldo de la cuenta en centavos; sólo válido si accountFound. */
+    @Setter private long accountBalanceCents;
+
+    /** Monto en centavos; sólo válido si amountParsed. */
+    @Setter private long amountCents;
+    @Setter private boolean amountParsed;
+
+    /** Fecha parseada, o null si vino vacía o con formato inválido. */
+    @Setter private LocalDate date;
+
+    /** Tipo normalizado (minúsculas) o "unknown" si vino vacío. */
+    @Setter private String tipo;
+
+    private StringBuilder messages;
+    private List<String> failures;
+
+    public TransactionCheck(TransactionRecord record, AccountLookup accountLookup) {
+        this.record = record;
+        this.accountLookup = accountLookup;
+        this.accountNumber = trimToNull(record.getAccountNumber());
+        this.rawAmount = trimToNull(record.getAmount());
+        this.rawDate = trimToNull(record.getTxnDate());
+        this.rawTipo = trimToNull(record.getCategory());
+    }
+
+    public void fail(String message) {
+        if (messages == null) {
+            messages = new StringBuilder(64);
+            failures = new ArrayList<>(2);
+        }
+        messages.append(message).append("; ");
+        failures.add(message);
+    }
+
+    /**
+     * @return mensajes de las reglas que fallaron, en orden (vacío si no hubo anomalías).
+     */
+    public List<String> getFailures() {
+        return failures == null ? List.of() : failures;
+    }
+
+    public boolean isAnomaly() {
+        return messages != null;
+    }
+
+    /**
+     * @return mensajes concatenados ("A; B;") o null si no hubo anomalías.
+     */
+    public String message() {
+        return messages == null ? null : messages.toString().trim();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.banco.batch.processor.rules;
+
+/**
+ * Regla de validación de una fila del CSV diario.
+ * Lee el estado ya parseado de {@link TransactionCheck} y llama a fail(...) si no se cumple.
+ * Las reglas adicionales se registran como beans y se agregan después de las estándar.
+ */
+@FunctionalInterface
+public interface TransactionRule {
+    void check(TransactionCheck check);
+}
@@ -0,0 +1,93 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.Account;
+import com.banco.batch.money.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Reader de la tabla accounts por páginas con keyset sobre id (WHERE id > último ORDER BY id),
+ * sin cargar toda la tabla ni entidades JPA: la memoria queda acotada a una página
+ * (legacy.account-reader.fetch-size). Guarda el último id leído en el ExecutionContext,
+ * así un restart retoma desde esa cuenta sin recorrer las anteriores.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountPagingReader {
+
+    static final String SELECT = "SELECT id, account_number, type, balance, annual_interest_rate";
+
+    /** Cuentas sin fila en interest_ledger para :period (usa el índice único cuenta + período). */
+    static final String NOT_POSTED = "NOT EXISTS (SELECT 1 FROM interest_ledger l "
+            + "WHERE l.account_number = accounts.account_number AND l.period_yyyymm = :period)";
+
+    private final DataSource dataSource;
+    private final LegacyCsvProperties props;
+
+    /**
+     * @param name prefijo de las claves en el ExecutionContext.
+     */
+    public JdbcPagingItemReader<Account> build(String name) throws Exception {
+        return build(name, null, null);
+    }
+
+    /**
+     * Reader de las cuentas que todavía no tienen interés del período en interest_ledger
+     * (anti-join): un cierre retomado sólo recorre las cuentas que faltan.
+     */
+    public JdbcPagingItemReader<Account> buildUnposted(String name, String periodYyyymm) throws Exception {
+        return build(name, NOT_POSTED, Map.of("period", periodYyyymm));
+    }
+
+    /**
+     * Como buildUnposted, limitado a las cuentas con id en [minId, maxId], para steps particionados.
+     */
+    public JdbcPagingItemReader<Account> buildUnpostedRange(String name, long minId, long maxId,
+                                                            String periodYyyymm) throws Exception {
+        return build(name, "id >= :minId AND id <= :maxId AND " + NOT_POSTED,
+                Map.of("minId", minId, "maxId", maxId, "period", periodYyyymm));
+    }
+
+    private JdbcPagingItemReader<Account> build(String name, String where, Map<String, Object> parameters) throws Exception {
+        SqlPagingQueryProviderFactoryBean provider = new SqlPagingQueryProviderFactoryBean();
+        provider.setDataSource(dataSource);
+        provider.setSelectClause(SELECT);
+        provider.setFromClause("FROM accounts");
+        provider.setWhereClause(where);
+        provider.setSortKeys(Map.of("id", Order.ASCENDING));
+
+        int fetchSize = props.getAccountReader().getFetchSize();
+        JdbcPagingItemReader<Account> reader = new JdbcPagingItemReaderBuilder<Account>()
+                .name(name)
+                .dataSource(dataSource)
+                .queryProvider(provider.getObject())
+                .pageSize(fetchSize)
+                .fetchSize(fetchSize)
+                .rowMapper(rowMapper())
+                .parameterValues(parameters)
+                .saveState(true)
+                .build();
+        // El builder no lo inicializa; fuera de un bean de Spring nadie más lo haría
+        reader.afterPropertiesSet();
+        return reader;
+    }
+
+    static RowMapper<Account> rowMapper() {
+        return (rs, rowNum) -> Account.builder()
+                .id(rs.getLong("id"))
+                .accountNumber(rs.getString("account_number"))
+                .type(rs.getString("type"))
+                .balanceCents(Money.toCents(rs.getBigDecimal("balance")))
+                .annualInterestRate(rs.getDouble("annual_interest_rate"))
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.AnnualStatement;
+import com.banco.batch.money.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Reader del motor "sql" de annualStatementJob: una sola consulta que suma los hasta 12 meses del
+ * año de account_monthly_totals por cuenta, cruzada con accounts para el saldo final (la clave
+ * primaria por cuenta y mes resuelve el JOIN; no se recorren las transacciones del año).
+ * Recorre el resultado con un cursor (fetch size de legacy.account-reader.fetch-size) y
+ * entrega AnnualStatement listos para el writer, sin consultas por cuenta ni entidades de transacción.
+ * Las cuentas sin movimientos en el año salen con totales en cero, igual que AnnualStatementProcessor.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnnualAggregateReader {
+
+    static final String SQL = "SELECT a.account_number, a.balance, "
+            + "COALESCE(SUM(m.deposits), 0) AS deposits, COALESCE(SUM(m.withdrawals), 0) AS withdrawals "
+            + "FROM accounts a LEFT JOIN account_monthly_totals m "
+            + "ON m.account_number = a.account_number AND m.period_yyyymm BETWEEN ? AND ? "
+            + "GROUP BY a.id, a.account_number, a.balance ORDER BY a.id";
+
+    private final DataSource dataSource;
+    private final LegacyCsvProperties props;
+
+    /**
+     * @param name prefijo de las claves en el ExecutionContext (filas ya leídas, para restart).
+     */
+    public JdbcCursorItemReader<AnnualStatement> build(String name, int year) {
+        return new JdbcCursorItemReaderBuilder<AnnualStatement>()
+                .name(name)
+                .dataSource(dataSource)
+                .sql(SQL)
+                .queryArguments(List.of(year + "-01", year + "-12"))
+                .fetchSize(props.getAccountReader().getFetchSize())
+                .rowMapper(rowMapper(year))
+                .saveState(true)
+                .build();
+    }
+
+    static RowMapper<AnnualStatement> rowMapper(int year) {
+        return (rs, rowNum) -> AnnualStatement.builder()
+                .accountNumber(rs.getString("account_number"))
+                .year(year)
+                .totalDepositsCents(Money.toCents(rs.getBigDecimal("deposits")))
+                .totalWithdrawalsCents(Money.toCents(rs.getBigDecimal("withdrawals")))
+                .endBalanceCents(Money.toCents(rs.getBigDecimal("balance")))
+                .build();
+    }
+}
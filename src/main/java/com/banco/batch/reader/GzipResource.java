@@ -0,0 +1,54 @@
+package com.banco.batch.reader;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Vista descomprimida de un CSV .gz. No es un archivo en disco (isFile() = false), así que
+ * TransactionFlatFileReader usa FlatFileItemReader, que reinicia por cantidad de registros leídos.
+ * Con readAheadBlocks > 0 la descompresión corre en un hilo aparte (ReadAheadInputStream).
+ */
+public class GzipResource extends AbstractResource {
+
+    public static final String SUFFIX = ".gz";
+
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    private final Resource compressed;
+    private final int readAheadBlocks;
+    private final int blockSize;
+
+    public GzipResource(Resource compressed, int readAheadBlocks, int blockSize) {
+        this.compressed = compressed;
+        this.readAheadBlocks = readAheadBlocks;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream in = new GZIPInputStream(compressed.getInputStream(), GZIP_BUFFER);
+        if (readAheadBlocks <= 0) {
+            return in;
+        }
+        return new ReadAheadInputStream(in, blockSize, readAheadBlocks, "gunzip-" + compressed.getFilename());
+    }
+
+    @Override
+    public boolean exists() {
+        return compressed.exists();
+    }
+
+    @Override
+    public String getFilename() {
+        return compressed.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "gzip [" + compressed.getDescription() + "]";
+    }
+}
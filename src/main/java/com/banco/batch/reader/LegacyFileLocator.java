@@ -0,0 +1,102 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ubica los CSV legacy: en legacy.files.input-dir si está configurado,
+ * si no en /resources/data del classpath (comportamiento original).
+ * Acepta CSV comprimidos: un nombre terminado en .gz, o <nombre>.gz cuando el CSV plano no existe.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacyFileLocator {
+
+    private final LegacyCsvProperties props;
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    public Resource resolve(String fileName) {
+        Resource plain = locate(fileName);
+        if (fileName.endsWith(GzipResource.SUFFIX)) {
+            return gzip(plain);
+        }
+        if (!plain.exists()) {
+            Resource compressed = locate(fileName + GzipResource.SUFFIX);
+            if (compressed.exists()) {
+                return gzip(compressed);
+            }
+        }
+        return plain;
+    }
+
+    private Resource gzip(Resource compressed) {
+        LegacyCsvProperties.Files files = props.getFiles();
+        return new GzipResource(compressed, files.getReadAheadBlocks(), files.getReadAheadBlockKb() * 1024);
+    }
+
+    private Resource locate(String fileName) {
+        String inputDir = props.getFiles().getInputDir();
+        if (inputDir == null || inputDir.isBlank()) {
+            return new ClassPathResource("data/" + fileName);
+        }
+        return new FileSystemResource(Path.of(inputDir, fileName));
+    }
+
+    /**
+     * Archivos diarios transactions_<fecha>.csv existentes entre from y to (inclusive).
+     */
+    public List<String> dailyFilesBetween(LocalDate from, LocalDate to) {
+        List<String> fileNames = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            String fileName = dailyTransactionsFile(day.toString());
+            if (resolve(fileName).exists()) {
+                fileNames.add(fileName);
+            }
+        }
+        return fileNames;
+    }
+
+    /**
+     * Archivos del directorio de entrada que calzan con un patrón glob (p. ej. transactions_2025-08-*.csv).
+     */
+    public List<String> find(String pattern) throws IOException {
+        String inputDir = props.getFiles().getInputDir();
+        String location = (inputDir == null || inputDir.isBlank())
+                ? "classpath*:data/" + pattern
+                : Path.of(inputDir).toUri() + pattern;
+        List<String> fileNames = new ArrayList<>();
+        for (Resource resource : resolver.getResources(location)) {
+            fileNames.add(resource.getFilename());
+        }
+        Collections.sort(fileNames);
+        return fileNames;
+    }
+
+    public static String dailyTransactionsFile(String date) {
+        return "transactions_" + date + ".csv";
+    }
+
+    /**
+     * Ruta física del archivo; necesaria para lecturas por rango de bytes (sólo CSV sin comprimir).
+     */
+    public Path resolvePath(String fileName) throws IOException {
+        Resource resource = resolve(fileName);
+        if (resource instanceof GzipResource) {
+            throw new IOException("La lectura por rangos de bytes requiere un CSV sin comprimir: " + resource.getDescription());
+        }
+        return resource.getFile().toPath();
+    }
+}
@@ -0,0 +1,223 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.model.TransactionRecord;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader del CSV de transacciones sobre un archivo mapeado en memoria (FileChannel.map).
+ * Separa los campos directamente sobre los bytes mapeados, en el orden de legacy.columns
+ * (id, fecha, monto, tipo), y entrega registros que decodifican cada String recién cuando
+ * se pide. Mapea el archivo por ventanas, así que soporta archivos de más de 2 GB.
+ * Lee las líneas que empiezan en [start, end); el rango que empieza en 0 salta el encabezado.
+ * Guarda el offset de bytes y la línea en el ExecutionContext para reiniciar desde ahí.
+ * Cada registro lleva el archivo y su línea física, que identifican la fila para la deduplicación.
+ */
+public class MappedTransactionReader extends ItemStreamSupport implements ItemStreamReader<TransactionRecord> {
+
+    static final int FIELD_COUNT = 4;
+
+    private static final String POSITION_KEY = "position";
+    private static final String LINE_KEY = "line";
+    private static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final Path file;
+    private final long start;
+    private final long end;
+    private final long windowSize;
+
+    private boolean saveState = true;
+    private String source;
+    private long firstLine = 1;
+    private FileChannel channel;
+    private long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long lineNumber;
+
+    public MappedTransactionReader(Path file) {
+        this(file, 0, Long.MAX_VALUE);
+    }
+
+    public MappedTransactionReader(Path file, long start, long end) {
+        this(file, start, end, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedTransactionReader(Path file, long start, long end, long windowSize) {
+        this.file = file;
+        this.start = start;
+        this.end = end;
+        this.windowSize = windowSize;
+        this.source = file.getFileName().toString();
+    }
+
+    /**
+     * En steps multi-hilo el orden no es determinista y no debe guardarse la posición.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    /**
+     * Nombre lógico del archivo que se informa en cada registro (por defecto, el del path).
+     */
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Número de la línea física que empieza en start (1 para el rango que empieza en 0).
+     */
+    public void setFirstLine(long firstLine) {
+        this.firstLine = firstLine;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        position = saveState ? executionContext.getLong(getExecutionContextKey(POSITION_KEY), start) : start;
+        lineNumber = (saveState ? executionContext.getLong(getExecutionContextKey(LINE_KEY), firstLine) : firstLine) - 1;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            fileSize = channel.size();
+            window = null;
+            if (position == 0 && fileSize > 0) {
+                nextLine(new int[FIELD_COUNT * 2]); // encabezado
+                lineNumber++;
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("No se pudo abrir " + file + " en el offset " + position, e);
+        }
+    }
+
+    @Override
+    public TransactionRecord read() throws Exception {
+        while (position < end && position < fileSize) {
+            int[] bounds = new int[FIELD_COUNT * 2];
+            long lineStart = position;
+            int fields = nextLine(bounds);
+            lineNumber++;
+            if (fields == 0) {
+                continue;
+            }
+            if (fields != FIELD_COUNT) {
+                throw new FlatFileParseException("Parsing error at line: " + lineNumber + " (offset " + lineStart
+                        + ") in " + file + ": expected " + FIELD_COUNT + " fields, found " + fields,
+                        lineText(lineStart), (int) lineNumber);
+            }
+            MappedTransactionRecord record = new MappedTransactionRecord(window, bounds);
+            record.setArchivo(source);
+            record.setLinea(lineNumber);
+            return record;
+        }
+        return null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        if (saveState) {
+            executionContext.putLong(getExecutionContextKey(POSITION_KEY), position);
+            executionContext.putLong(getExecutionContextKey(LINE_KEY), lineNumber + 1);
+        }
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("No se pudo cerrar " + file, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Separa la línea que empieza en position y avanza position al inicio de la siguiente.
+     * bounds recibe [inicio, fin) de cada campo relativo a la ventana actual.
+     *
+     * @return cantidad de campos (0 si la línea está vacía).
+     */
+    private int nextLine(int[] bounds) throws IOException {
+        ensureWindow(position, false);
+        while (true) {
+            int offset = (int) (position - windowStart);
+            int limit = window.limit();
+            int fields = 0;
+            int fieldStart = offset;
+            boolean inQuotes = false;
+            boolean blank = true;
+            int i = offset;
+            for (; i < limit; i++) {
+                byte b = window.get(i);
+                if (b == '\n') {
+                    break;
+                }
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == ',' && !inQuotes) {
+                    fields = addField(bounds, fields, fieldStart, i);
+                    fieldStart = i + 1;
+                }
+                if (b != '\r' && b != ' ' && b != '\t') {
+                    blank = false;
+                }
+            }
+            if (i == limit && windowStart + limit < fileSize) {
+                // La línea cruza el fin de la ventana: remapear desde su inicio
+                if (offset == 0) {
+                    throw new FlatFileParseException("Line longer than map window at offset " + position,
+                            "", (int) lineNumber);
+                }
+                ensureWindow(position, true);
+                continue;
+            }
+            int lineEnd = i;
+            if (lineEnd > offset && window.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            position = windowStart + Math.min(i + 1, limit);
+            if (blank) {
+                return 0;
+            }
+            return addField(bounds, fields, fieldStart, lineEnd);
+        }
+    }
+
+    private static int addField(int[] bounds, int fields, int from, int to) {
+        if (fields < FIELD_COUNT) {
+            bounds[fields * 2] = from;
+            bounds[fields * 2 + 1] = to;
+        }
+        return fields + 1;
+    }
+
+    private void ensureWindow(long at, boolean force) throws IOException {
+        if (!force && window != null && at >= windowStart && at < windowStart + window.limit()) {
+            return;
+        }
+        windowStart = at;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, at, Math.min(windowSize, fileSize - at));
+    }
+
+    private String lineText(long lineStart) {
+        int from = (int) (lineStart - windowStart);
+        int to = (int) (position - windowStart);
+        byte[] bytes = new byte[Math.max(0, to - from)];
+        window.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8).strip();
+    }
+}
@@ -0,0 +1,114 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.model.TransactionRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TransactionRecord respaldado por los bytes mapeados del CSV: cada campo se decodifica
+ * (y se cachea) la primera vez que se lee. Un setter reemplaza el valor sin decodificar.
+ */
+final class MappedTransactionRecord extends TransactionRecord {
+
+    private static final int ID = 0;
+    private static final int FECHA = 1;
+    private static final int MONTO = 2;
+    private static final int TIPO = 3;
+
+    private final ByteBuffer source;
+    private final int[] bounds;
+    private int materialized;
+
+    MappedTransactionRecord(ByteBuffer source, int[] bounds) {
+        this.source = source;
+        this.bounds = bounds;
+    }
+
+    @Override
+    public String getId() {
+        if (pending(ID)) {
+            super.setId(decode(ID));
+        }
+        return super.getId();
+    }
+
+    @Override
+    public String getFecha() {
+        if (pending(FECHA)) {
+            super.setFecha(decode(FECHA));
+        }
+        return super.getFecha();
+    }
+
+    @Override
+    public String getMonto() {
+        if (pending(MONTO)) {
+            super.setMonto(decode(MONTO));
+        }
+        return super.getMonto();
+    }
+
+    @Override
+    public String getTipo() {
+        if (pending(TIPO)) {
+            super.setTipo(decode(TIPO));
+        }
+        return super.getTipo();
+    }
+
+    @Override
+    public void setId(String id) {
+        materialized |= 1 << ID;
+        super.setId(id);
+    }
+
+    @Override
+    public void setFecha(String fecha) {
+        materialized |= 1 << FECHA;
+        super.setFecha(fecha);
+    }
+
+    @Override
+    public void setMonto(String monto) {
+        materialized |= 1 << MONTO;
+        super.setMonto(monto);
+    }
+
+    @Override
+    public void setTipo(String tipo) {
+        materialized |= 1 << TIPO;
+        super.setTipo(tipo);
+    }
+
+    private boolean pending(int field) {
+        if ((materialized & (1 << field)) != 0) {
+            return false;
+        }
+        materialized |= 1 << field;
+        return true;
+    }
+
+    /**
+     * Decodifica el campo recortando espacios (como FieldSet.readString) y quitando comillas.
+     */
+    private String decode(int field) {
+        int from = bounds[field * 2];
+        int to = bounds[field * 2 + 1];
+        while (from < to && source.get(from) <= ' ') {
+            from++;
+        }
+        while (to > from && source.get(to - 1) <= ' ') {
+            to--;
+        }
+        boolean quoted = to - from >= 2 && source.get(from) == '"' && source.get(to - 1) == '"';
+        if (quoted) {
+            from++;
+            to--;
+        }
+        byte[] bytes = new byte[to - from];
+        source.get(from, bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        return quoted ? value.replace("\"\"", "\"") : value;
+    }
+}
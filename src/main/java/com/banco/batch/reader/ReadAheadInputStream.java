@@ -0,0 +1,134 @@
+package com.banco.batch.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * InputStream que lee (y descomprime) el origen en un hilo propio por bloques de blockSize bytes
+ * y los entrega por una cola acotada de depth bloques. Así la descompresión se solapa con el
+ * parseo del reader en vez de ocurrir en el mismo hilo. Los errores del origen se relanzan al leer.
+ */
+class ReadAheadInputStream extends InputStream {
+
+    private static final byte[] EOF = new byte[0];
+
+    private final InputStream source;
+    private final BlockingQueue<byte[]> blocks;
+    private final Thread producer;
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+    private byte[] current = new byte[0];
+    private int offset;
+    private boolean finished;
+
+    ReadAheadInputStream(InputStream source, int blockSize, int depth, String threadName) {
+        this.source = source;
+        this.blocks = new ArrayBlockingQueue<>(Math.max(1, depth));
+        this.producer = new Thread(() -> produce(Math.max(1, blockSize)), threadName);
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    /**
+     * Cualquier error del origen (también RuntimeException o Error del descompresor) queda en
+     * failure y el EOF se encola siempre, para que el lector nunca espere un bloque que no llega.
+     */
+    private void produce(int blockSize) {
+        try {
+            while (!closed) {
+                byte[] block = new byte[blockSize];
+                int filled = source.readNBytes(block, 0, blockSize);
+                if (filled == 0) {
+                    break;
+                }
+                blocks.put(filled == blockSize ? block : Arrays.copyOf(block, filled));
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Lectura anticipada interrumpida");
+        } catch (Throwable e) {
+            failure = new IOException("Falló la lectura anticipada del origen", e);
+        } finally {
+            if (closed) {
+                // close() vació la cola y nadie más lee: no esperar lugar
+                blocks.offer(EOF);
+            } else {
+                putEof();
+            }
+        }
+    }
+
+    private void putEof() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                blocks.put(EOF);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current[offset++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - offset);
+        System.arraycopy(current, offset, b, off, n);
+        offset += n;
+        return n;
+    }
+
+    private boolean fill() throws IOException {
+        while (offset == current.length) {
+            if (finished) {
+                return false;
+            }
+            try {
+                current = blocks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrumpido esperando datos descomprimidos");
+            }
+            offset = 0;
+            if (current == EOF) {
+                finished = true;
+                if (failure != null) {
+                    throw failure;
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        producer.interrupt();
+        blocks.clear();
+        source.close();
+    }
+}
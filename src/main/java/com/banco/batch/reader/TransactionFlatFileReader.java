@@ -3,11 +3,19 @@ package com.banco.batch.reader;
 import com.banco.batch.config.LegacyCsvProperties;
 import com.banco.batch.model.TransactionRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.LineTokenizer;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 /**
  * Reader que toma los nombres de columnas reales desde application.yml (legacy.columns.*).
  * Permite usar CSVs del sistema legacy sin tocar Java.
@@ -17,32 +25,81 @@ import org.springframework.stereotype.Component;
 public class TransactionFlatFileReader {
 
     private final LegacyCsvProperties props;
+    private final LegacyFileLocator fileLocator;
 
     public FlatFileItemReader<TransactionRecord> build(String fileName) {
-        // Obtener nombres de columnas desde application.yml (legacy.columns.*)
-        LegacyCsvProperties.Columns columns = props.getColumns();
-        String[] legacyNames = new String[] {
-            columns.getId(),
-            columns.getFecha(),
-            columns.getMonto(),
-            columns.getTipo()
-        };
-
         return new FlatFileItemReaderBuilder<TransactionRecord>()
                 .name("transactionReader")
-                .resource(new ClassPathResource("data/" + fileName))
-                .delimited()
-                .names(legacyNames)
-                .fieldSetMapper(fieldSet -> {
-                    TransactionRecord tr = new TransactionRecord();
-                    tr.setId(fieldSet.readString(columns.getId()));
-                    tr.setFecha(fieldSet.readString(columns.getFecha()));
-                    tr.setMonto(fieldSet.readString(columns.getMonto()));
-                    tr.setTipo(fieldSet.readString(columns.getTipo()));
-                    return tr;
-                })
+                .resource(fileLocator.resolve(fileName))
+                .lineMapper(lineMapper(fileName))
                 .linesToSkip(1)
                 .strict(false)
                 .build();
     }
+
+    /**
+     * Reader del archivo diario completo: mapeado en memoria si legacy.files.memory-mapped
+     * está activo y el archivo está en disco; si no (p. ej. dentro de un jar), FlatFileItemReader.
+     */
+    public ItemStreamReader<TransactionRecord> open(String fileName, boolean saveState) throws IOException {
+        Resource resource = fileLocator.resolve(fileName);
+        if (props.getFiles().isMemoryMapped() && resource.isFile()) {
+            MappedTransactionReader reader = new MappedTransactionReader(resource.getFile().toPath());
+            reader.setName("transactionReader");
+            reader.setSource(fileName);
+            reader.setSaveState(saveState);
+            return reader;
+        }
+        FlatFileItemReader<TransactionRecord> reader = build(fileName);
+        reader.setSaveState(saveState);
+        return reader;
+    }
+
+    /**
+     * Reader de un rango [start, end) de bytes del archivo, para steps particionados.
+     * firstLine es la línea física que empieza en start (ver TransactionFileRangePartitioner).
+     */
+    public MappedTransactionReader buildRange(String fileName, long start, long end, long firstLine) throws IOException {
+        MappedTransactionReader reader = new MappedTransactionReader(fileLocator.resolvePath(fileName), start, end);
+        reader.setName("transactionRangeReader");
+        reader.setSource(fileName);
+        reader.setFirstLine(firstLine);
+        return reader;
+    }
+
+    /**
+     * Agrega al registro el archivo y la línea física (el FlatFileItemReader cuenta también el
+     * encabezado), igual que MappedTransactionReader.
+     */
+    private LineMapper<TransactionRecord> lineMapper(String fileName) {
+        DefaultLineMapper<TransactionRecord> delegate = new DefaultLineMapper<>();
+        delegate.setLineTokenizer(tokenizer());
+        delegate.setFieldSetMapper(fieldSetMapper());
+        return (line, lineNumber) -> {
+            TransactionRecord tr = delegate.mapLine(line, lineNumber);
+            tr.setArchivo(fileName);
+            tr.setLinea(lineNumber);
+            return tr;
+        };
+    }
+
+    LineTokenizer tokenizer() {
+        // Obtener nombres de columnas desde application.yml (legacy.columns.*)
+        LegacyCsvProperties.Columns columns = props.getColumns();
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames(columns.getId(), columns.getFecha(), columns.getMonto(), columns.getTipo());
+        return tokenizer;
+    }
+
+    FieldSetMapper<TransactionRecord> fieldSetMapper() {
+        LegacyCsvProperties.Columns columns = props.getColumns();
+        return fieldSet -> {
+            TransactionRecord tr = new TransactionRecord();
+            tr.setId(fieldSet.readString(columns.getId()));
+            tr.setFecha(fieldSet.readString(columns.getFecha()));
+            tr.setMonto(fieldSet.readString(columns.getMonto()));
+            tr.setTipo(fieldSet.readString(columns.getTipo()));
+            return tr;
+        };
+    }
 }
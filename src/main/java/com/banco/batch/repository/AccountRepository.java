@@ -3,8 +3,12 @@ package com.banco.batch.repository;
 import com.banco.batch.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
 }
@@ -0,0 +1,162 @@
+package com.banco.batch.totals;
+
+import com.banco.batch.money.Money;
+import com.banco.batch.totals.MonthlyTotalsDeltas.MonthlyTotals;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Último step de los jobs de ingesta: lleva a account_monthly_totals lo que escribió el job, fuera
+ * del camino de cada chunk.
+ * <ul>
+ *   <li>En la primera ejecución de la instancia suma los deltas por cuenta y mes de los chunks
+ *       confirmados (MonthlyTotalsDeltas) con un upsert en lote, ordenado por cuenta y mes. Sólo
+ *       toca los pares (cuenta, mes) escritos, y los deltas se retiran al aplicarlos, así que se
+ *       suman una vez por JobExecution.</li>
+ *   <li>En un restart los chunks de la ejecución fallida no dejaron deltas en memoria: recalcula
+ *       los meses que tocaron todas las ejecuciones de la instancia (ver IngestedMonthsTracker) con
+ *       un DELETE y un INSERT ... SELECT ... GROUP BY sobre processed_transactions por mes.</li>
+ * </ul>
+ */
+@Slf4j
+public class AccountMonthlyTotalsTasklet implements Tasklet {
+
+    static final String DELETE_SQL = "DELETE FROM account_monthly_totals WHERE period_yyyymm = ?";
+
+    static final String INSERT_SQL = "INSERT INTO account_monthly_totals "
+            + "(account_number, period_yyyymm, deposits, withdrawals, txn_count, anomaly_count) "
+            + "SELECT account_number, CAST(? AS VARCHAR(7)), "
+            + "SUM(CASE WHEN amount > 0 THEN amount ELSE 0 END), "
+            + "SUM(CASE WHEN amount < 0 THEN -amount ELSE 0 END), "
+            + "COUNT(*), SUM(CASE WHEN anomaly THEN 1 ELSE 0 END) "
+            + "FROM processed_transactions "
+            + "WHERE txn_date >= ? AND txn_date < ? "
+            + "GROUP BY account_number";
+
+    private static final String UPSERT_INSERT = "INSERT INTO account_monthly_totals "
+            + "(account_number, period_yyyymm, deposits, withdrawals, txn_count, anomaly_count) VALUES (?, ?, ?, ?, ?, ?) ";
+
+    /** MySQL. */
+    static final String UPSERT_SQL = UPSERT_INSERT
+            + "ON DUPLICATE KEY UPDATE deposits = deposits + VALUES(deposits), "
+            + "withdrawals = withdrawals + VALUES(withdrawals), "
+            + "txn_count = txn_count + VALUES(txn_count), "
+            + "anomaly_count = anomaly_count + VALUES(anomaly_count)";
+
+    static final String POSTGRES_UPSERT_SQL = UPSERT_INSERT
+            + "ON CONFLICT (account_number, period_yyyymm) DO UPDATE SET "
+            + "deposits = account_monthly_totals.deposits + EXCLUDED.deposits, "
+            + "withdrawals = account_monthly_totals.withdrawals + EXCLUDED.withdrawals, "
+            + "txn_count = account_monthly_totals.txn_count + EXCLUDED.txn_count, "
+            + "anomaly_count = account_monthly_totals.anomaly_count + EXCLUDED.anomaly_count";
+
+    /** H2: MERGE estándar; su ON DUPLICATE KEY UPDATE (MODE=MySQL) es bastante más lento. */
+    static final String MERGE_SQL = "MERGE INTO account_monthly_totals m USING (VALUES (CAST(? AS VARCHAR(50)), "
+            + "CAST(? AS VARCHAR(7)), CAST(? AS DECIMAL(18,2)), CAST(? AS DECIMAL(18,2)), CAST(? AS BIGINT), CAST(? AS BIGINT))) "
+            + "AS d (account_number, period_yyyymm, deposits, withdrawals, txn_count, anomaly_count) "
+            + "ON m.account_number = d.account_number AND m.period_yyyymm = d.period_yyyymm "
+            + "WHEN MATCHED THEN UPDATE SET deposits = m.deposits + d.deposits, withdrawals = m.withdrawals + d.withdrawals, "
+            + "txn_count = m.txn_count + d.txn_count, anomaly_count = m.anomaly_count + d.anomaly_count "
+            + "WHEN NOT MATCHED THEN INSERT (account_number, period_yyyymm, deposits, withdrawals, txn_count, anomaly_count) "
+            + "VALUES (d.account_number, d.period_yyyymm, d.deposits, d.withdrawals, d.txn_count, d.anomaly_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final MonthlyTotalsDeltas deltas;
+    private final int batchSize;
+    private final String upsertSql;
+
+    public AccountMonthlyTotalsTasklet(JdbcTemplate jdbcTemplate, JobExplorer jobExplorer, MonthlyTotalsDeltas deltas,
+                                       int batchSize) throws MetaDataAccessException {
+        this(jdbcTemplate, jobExplorer, deltas, batchSize, upsertSqlFor(JdbcUtils.commonDatabaseName(
+                JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName))));
+    }
+
+    AccountMonthlyTotalsTasklet(JdbcTemplate jdbcTemplate, JobExplorer jobExplorer, MonthlyTotalsDeltas deltas,
+                                int batchSize, String upsertSql) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobExplorer = jobExplorer;
+        this.deltas = deltas;
+        this.batchSize = batchSize;
+        this.upsertSql = upsertSql;
+    }
+
+    static String upsertSqlFor(String databaseName) {
+        if ("PostgreSQL".equals(databaseName)) {
+            return POSTGRES_UPSERT_SQL;
+        }
+        return "H2".equals(databaseName) ? MERGE_SQL : UPSERT_SQL;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        JobExecution current = chunkContext.getStepContext().getStepExecution().getJobExecution();
+        Map<String, MonthlyTotals> run = deltas.take(current.getId());
+        List<JobExecution> executions = jobExplorer.getJobExecutions(current.getJobInstance());
+        if (executions.size() == 1) {
+            log.info("Applied monthly totals deltas: {} account-months", apply(run == null ? Map.of() : run));
+            return RepeatStatus.FINISHED;
+        }
+
+        Set<String> months = new TreeSet<>();
+        for (JobExecution execution : executions) {
+            for (StepExecution step : execution.getStepExecutions()) {
+                months.addAll(IngestedMonthsTracker.parse(
+                        step.getExecutionContext().getString(IngestedMonthsTracker.MONTHS_KEY, "")));
+            }
+        }
+        for (String month : months) {
+            log.info("Rebuilt monthly totals for {}: {} accounts", month, rebuild(YearMonth.parse(month)));
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Suma los deltas a los totales existentes; corre en la transacción del llamador.
+     *
+     * @return cantidad de pares (cuenta, mes) actualizados.
+     */
+    int apply(Map<String, MonthlyTotals> run) {
+        if (run.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(upsertSql, new ArrayList<>(run.values()), batchSize, (ps, m) -> {
+            ps.setString(1, m.accountNumber);
+            ps.setString(2, m.period);
+            ps.setBigDecimal(3, Money.toDecimal(m.depositsCents));
+            ps.setBigDecimal(4, Money.toDecimal(m.withdrawalsCents));
+            ps.setLong(5, m.count);
+            ps.setLong(6, m.anomalies);
+        });
+        return run.size();
+    }
+
+    /**
+     * Reemplaza los totales del mes por los de processed_transactions; corre en la transacción del llamador.
+     *
+     * @return cantidad de cuentas con movimientos en el mes.
+     */
+    public int rebuild(YearMonth period) {
+        jdbcTemplate.update(DELETE_SQL, period.toString());
+        return jdbcTemplate.update(INSERT_SQL, period.toString(),
+                Date.valueOf(period.atDay(1)), Date.valueOf(period.plusMonths(1).atDay(1)));
+    }
+}
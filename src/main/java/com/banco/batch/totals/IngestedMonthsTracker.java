@@ -0,0 +1,105 @@
+package com.banco.batch.totals;
+
+import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.totals.MonthlyTotalsDeltas.MonthlyTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Junta lo que escribe el step de ingesta para AccountMonthlyTotalsTasklet:
+ * <ul>
+ *   <li>los deltas por cuenta y mes de cada chunk, que pasan a MonthlyTotalsDeltas recién cuando
+ *       el chunk confirma (un chunk revertido no deja deltas);</li>
+ *   <li>los meses (yyyy-MM) escritos, en el ExecutionContext del step. afterWrite corre dentro de
+ *       la transacción del chunk, antes de que se guarde el contexto, así que los meses de un chunk
+ *       confirmado quedan persistidos aunque el step falle después; un restart recalcula esos meses.</li>
+ * </ul>
+ * En el camino de cada chunk sólo se suma en memoria; el contexto se toca cuando aparece un mes nuevo.
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class IngestedMonthsTracker implements StepExecutionListener, ChunkListener, ItemWriteListener<ProcessedTransaction> {
+
+    static final String MONTHS_KEY = "monthlyTotals.months";
+
+    private final MonthlyTotalsDeltas deltas;
+
+    private final Set<String> months = new ConcurrentSkipListSet<>();
+    private volatile ExecutionContext context;
+    private long jobExecutionId;
+
+    /** Deltas del chunk en curso, por hilo: cada chunk lo procesa un único hilo. */
+    private final ThreadLocal<Map<String, MonthlyTotals>> pending = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        jobExecutionId = stepExecution.getJobExecutionId();
+        context = stepExecution.getExecutionContext();
+        months.addAll(parse(context.getString(MONTHS_KEY, "")));
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext chunkContext) {
+        pending.get().clear();
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends ProcessedTransaction> items) {
+        Map<String, MonthlyTotals> chunk = pending.get();
+        boolean added = false;
+        for (ProcessedTransaction t : items) {
+            if (t.getTxnDate() == null) {
+                continue;
+            }
+            String period = YearMonth.from(t.getTxnDate().toLocalDate()).toString();
+            added |= months.add(period);
+            if (t.getAccountNumber() != null) {
+                chunk.computeIfAbsent(t.getAccountNumber() + '|' + period,
+                        k -> new MonthlyTotals(t.getAccountNumber(), period)).add(t);
+            }
+        }
+        if (added) {
+            synchronized (this) {
+                context.putString(MONTHS_KEY, String.join(",", months));
+            }
+        }
+    }
+
+    @Override
+    public void afterChunk(ChunkContext chunkContext) {
+        Map<String, MonthlyTotals> chunk = pending.get();
+        deltas.add(jobExecutionId, chunk.values());
+        chunk.clear();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext chunkContext) {
+        pending.get().clear();
+    }
+
+    static Set<String> parse(String months) {
+        Set<String> parsed = new TreeSet<>();
+        for (String month : months.split(",")) {
+            if (!month.isBlank()) {
+                parsed.add(month.trim());
+            }
+        }
+        return parsed;
+    }
+}
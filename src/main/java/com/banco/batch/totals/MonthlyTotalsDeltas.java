@@ -0,0 +1,85 @@
+package com.banco.batch.totals;
+
+import com.banco.batch.model.ProcessedTransaction;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deltas de account_monthly_totals (depósitos, retiros, cantidad y anomalías por cuenta y mes)
+ * acumulados por JobExecution: IngestedMonthsTracker suma los de cada chunk confirmado y
+ * AccountMonthlyTotalsTasklet los aplica una sola vez al final de la ingesta. Viven en memoria;
+ * se descartan al terminar el job, y si la JVM se cae antes de aplicarlos el restart recalcula
+ * los meses completos.
+ */
+@Component
+public class MonthlyTotalsDeltas implements JobExecutionListener {
+
+    private final Map<Long, Map<String, MonthlyTotals>> byJobExecution = new ConcurrentHashMap<>();
+
+    void add(long jobExecutionId, Collection<MonthlyTotals> chunk) {
+        Map<String, MonthlyTotals> deltas = byJobExecution.computeIfAbsent(jobExecutionId, id -> new ConcurrentHashMap<>());
+        for (MonthlyTotals m : chunk) {
+            deltas.merge(m.key(), m, MonthlyTotals::merge);
+        }
+    }
+
+    /**
+     * Retira los deltas de la ejecución, ordenados por cuenta y mes; un segundo llamado devuelve null.
+     */
+    Map<String, MonthlyTotals> take(long jobExecutionId) {
+        Map<String, MonthlyTotals> deltas = byJobExecution.remove(jobExecutionId);
+        return deltas == null ? null : new TreeMap<>(deltas);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        byJobExecution.remove(jobExecution.getId());
+    }
+
+    /**
+     * Delta de una cuenta en un mes.
+     */
+    static final class MonthlyTotals {
+        final String accountNumber;
+        final String period;
+        long depositsCents;
+        long withdrawalsCents;
+        long count;
+        long anomalies;
+
+        MonthlyTotals(String accountNumber, String period) {
+            this.accountNumber = accountNumber;
+            this.period = period;
+        }
+
+        String key() {
+            return accountNumber + '|' + period;
+        }
+
+        void add(ProcessedTransaction t) {
+            if (t.getAmountCents() > 0) {
+                depositsCents = Math.addExact(depositsCents, t.getAmountCents());
+            } else {
+                withdrawalsCents = Math.subtractExact(withdrawalsCents, t.getAmountCents());
+            }
+            count++;
+            if (Boolean.TRUE.equals(t.getAnomaly())) {
+                anomalies++;
+            }
+        }
+
+        MonthlyTotals merge(MonthlyTotals other) {
+            depositsCents = Math.addExact(depositsCents, other.depositsCents);
+            withdrawalsCents = Math.addExact(withdrawalsCents, other.withdrawalsCents);
+            count += other.count;
+            anomalies += other.anomalies;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.banco.batch.web;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Lanza jobs en jobLaunchTaskExecutor y devuelve la JobExecution apenas queda registrada
+ * (estado STARTING), sin esperar a que termine. No se publica como bean JobLauncher para
+ * no competir con el launcher síncrono que autoconfigura Spring Boot.
+ * Reserva un lugar del executor (legacy.launcher.threads + queue-capacity) antes de crear la
+ * ejecución y lo libera cuando el job termina: sin lugar rechaza el pedido sin dejar una
+ * JobExecution FAILED en el repositorio.
+ */
+@Component
+public class AsyncJobLauncher {
+
+    private final TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+    private final Semaphore slots;
+
+    public AsyncJobLauncher(JobRepository jobRepository,
+                            @Qualifier("jobLaunchTaskExecutor") TaskExecutor jobLaunchTaskExecutor,
+                            LegacyCsvProperties legacyProps) throws Exception {
+        LegacyCsvProperties.Launcher cfg = legacyProps.getLauncher();
+        slots = new Semaphore(cfg.getThreads() + cfg.getQueueCapacity());
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(task -> {
+            try {
+                jobLaunchTaskExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                slots.release();
+                throw e;
+            }
+        });
+        launcher.afterPropertiesSet();
+    }
+
+    /**
+     * @throws TaskRejectedException si el executor está lleno; no se registra ninguna ejecución.
+     */
+    public JobExecution run(Job job, JobParameters params) throws Exception {
+        if (!slots.tryAcquire()) {
+            throw new TaskRejectedException("No hay capacidad para lanzar " + job.getName());
+        }
+        JobExecution execution;
+        try {
+            execution = launcher.run(job, params);
+        } catch (Exception e) {
+            // Falló antes de entregar el job al executor (parámetros inválidos, ya en curso, ...)
+            slots.release();
+            throw e;
+        }
+        return execution;
+    }
+}
@@ -1,62 +1,174 @@
 package com.banco.batch.web;
 
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobExecutionNotRunningException;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 /**
  * Controlador REST para lanzar los Jobs con parámetros.
  * Útil para evidencias y pruebas rápidas.
+ * Con async=true el job corre en jobLaunchTaskExecutor y se responde 202 con el id de la
+ * ejecución, que se consulta en /jobs/executions/{id} y se detiene con POST .../stop.
  */
 @RestController
 @RequestMapping("/jobs")
 public class JobController {
 
     private final JobLauncher jobLauncher;
+    private final AsyncJobLauncher asyncJobLauncher;
+    private final JobExplorer jobExplorer;
+    private final JobOperator jobOperator;
     private final Job dailyTransactionsReportJob;
+    private final Job dailyTransactionsBackfillJob;
     private final Job monthlyInterestJob;
     private final Job annualStatementJob;
 
     public JobController(JobLauncher jobLauncher,
+                        AsyncJobLauncher asyncJobLauncher,
+                        JobExplorer jobExplorer,
+                        JobOperator jobOperator,
                         @Qualifier("dailyTransactionsReportJob") Job dailyTransactionsReportJob,
+                        @Qualifier("dailyTransactionsBackfillJob") Job dailyTransactionsBackfillJob,
                         @Qualifier("monthlyInterestJob") Job monthlyInterestJob,
                         @Qualifier("annualStatementJob") Job annualStatementJob) {
         this.jobLauncher = jobLauncher;
+        this.asyncJobLauncher = asyncJobLauncher;
+        this.jobExplorer = jobExplorer;
+        this.jobOperator = jobOperator;
         this.dailyTransactionsReportJob = dailyTransactionsReportJob;
+        this.dailyTransactionsBackfillJob = dailyTransactionsBackfillJob;
         this.monthlyInterestJob = monthlyInterestJob;
         this.annualStatementJob = annualStatementJob;
     }
 
+    /**
+     * Con from/to (to por defecto = from) o pattern (glob) procesa varios archivos diarios.
+     * Esos parámetros identifican la ejecución (sin ts): repetir la misma llamada tras una
+     * falla reinicia el job y salta los días ya completados. Fechas inválidas o to anterior a
+     * from responden 400 (validador de dailyTransactionsBackfillJob).
+     */
     @PostMapping("/daily")
-    public String runDaily(@RequestParam(required = false) String date) throws Exception {
+    public ResponseEntity<?> runDaily(@RequestParam(required = false) String date,
+                                      @RequestParam(required = false) String from,
+                                      @RequestParam(required = false) String to,
+                                      @RequestParam(required = false) String pattern,
+                                      @RequestParam(defaultValue = "false") boolean async) throws Exception {
+        if (pattern != null && !pattern.isBlank()) {
+            JobParameters params = new JobParametersBuilder()
+                    .addString("run.pattern", pattern)
+                    .toJobParameters();
+            return launch(dailyTransactionsBackfillJob, params, async, "run.pattern=" + pattern);
+        }
+        if (from != null && !from.isBlank()) {
+            String until = (to == null || to.isBlank()) ? from : to;
+            JobParameters params = new JobParametersBuilder()
+                    .addString("run.from", from)
+                    .addString("run.to", until)
+                    .toJobParameters();
+            return launch(dailyTransactionsBackfillJob, params, async, "run.from=" + from + ", run.to=" + until);
+        }
         JobParameters params = new JobParametersBuilder()
                 .addString("run.date", date == null ? "" : date)
                 .addLong("ts", System.currentTimeMillis())
                 .toJobParameters();
-        jobLauncher.run(dailyTransactionsReportJob, params);
-        return "Lanzado dailyTransactionsReportJob con run.date=" + date;
+        return launch(dailyTransactionsReportJob, params, async, "run.date=" + date);
     }
 
+    /**
+     * engine=sql calcula los intereses dentro de la BD (INSERT ... SELECT + UPDATE por rangos);
+     * engine=columnar los calcula por bloques de arreglos primitivos y los escribe con JDBC en lote.
+     * Relanzar un período ya cerrado (total o parcialmente) sólo postea las cuentas que faltan.
+     */
     @PostMapping("/monthly")
-    public String runMonthly(@RequestParam String period) throws Exception {
+    public ResponseEntity<?> runMonthly(@RequestParam String period,
+                                        @RequestParam(defaultValue = "jvm") String engine,
+                                        @RequestParam(defaultValue = "false") boolean async) throws Exception {
         JobParameters params = new JobParametersBuilder()
                 .addString("run.period", period)
+                .addString("run.engine", engine)
                 .addLong("ts", System.currentTimeMillis())
                 .toJobParameters();
-        jobLauncher.run(monthlyInterestJob, params);
-        return "Lanzado monthlyInterestJob con run.period=" + period;
+        return launch(monthlyInterestJob, params, async, "run.period=" + period + ", run.engine=" + engine);
     }
 
+    /**
+     * engine=sql arma los estados con una sola consulta agregada (GROUP BY por cuenta).
+     */
     @PostMapping("/annual")
-    public String runAnnual(@RequestParam Integer year) throws Exception {
+    public ResponseEntity<?> runAnnual(@RequestParam Integer year,
+                                       @RequestParam(defaultValue = "jvm") String engine,
+                                       @RequestParam(defaultValue = "false") boolean async) throws Exception {
         JobParameters params = new JobParametersBuilder()
                 .addString("run.year", String.valueOf(year))
+                .addString("run.engine", engine)
                 .addLong("ts", System.currentTimeMillis())
                 .toJobParameters();
-        jobLauncher.run(annualStatementJob, params);
-        return "Lanzado annualStatementJob con run.year=" + year;
+        return launch(annualStatementJob, params, async, "run.year=" + year + ", run.engine=" + engine);
+    }
+
+    /**
+     * Estado y conteos (leídos, escritos, filtrados, omitidos) por step de una ejecución.
+     */
+    @GetMapping("/executions/{id}")
+    public ResponseEntity<JobExecutionStatus> status(@PathVariable long id) {
+        JobExecution execution = jobExplorer.getJobExecution(id);
+        return execution == null
+                ? ResponseEntity.notFound().build()
+                : ResponseEntity.ok(JobExecutionStatus.from(execution));
+    }
+
+    /**
+     * Pide detener la ejecución: queda STOPPING y el step se detiene al terminar el chunk en curso.
+     * Se reinicia relanzando el job con los mismos parámetros.
+     */
+    @PostMapping("/executions/{id}/stop")
+    public ResponseEntity<JobExecutionStatus> stop(@PathVariable long id) throws Exception {
+        jobOperator.stop(id);
+        return ResponseEntity.accepted().body(JobExecutionStatus.from(jobExplorer.getJobExecution(id)));
+    }
+
+    @ExceptionHandler(NoSuchJobExecutionException.class)
+    public ResponseEntity<String> noSuchExecution(NoSuchJobExecutionException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(JobExecutionNotRunningException.class)
+    public ResponseEntity<String> notRunning(JobExecutionNotRunningException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(JobParametersInvalidException.class)
+    public ResponseEntity<String> invalidParameters(JobParametersInvalidException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> launcherBusy(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    private ResponseEntity<?> launch(Job job, JobParameters params, boolean async, String description) throws Exception {
+        if (!async) {
+            jobLauncher.run(job, params);
+            return ResponseEntity.ok("Lanzado " + job.getName() + " con " + description);
+        }
+        JobExecution execution = asyncJobLauncher.run(job, params);
+        return ResponseEntity.accepted()
+                .location(URI.create("/jobs/executions/" + execution.getId()))
+                .body(JobExecutionStatus.from(execution));
     }
 }
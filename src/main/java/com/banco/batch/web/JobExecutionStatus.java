@@ -0,0 +1,93 @@
+package com.banco.batch.web;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Estado y avance de una JobExecution según el JobRepository, para GET /jobs/executions/{id}.
+ * Los conteos se actualizan en cada commit de chunk.
+ */
+@Getter @Builder
+public class JobExecutionStatus {
+
+    private Long executionId;
+    private String jobName;
+    private String status;
+    private String exitCode;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long readCount;
+    private long writeCount;
+    private long filterCount;
+    private long skipCount;
+    private List<StepProgress> steps;
+
+    public static JobExecutionStatus from(JobExecution execution) {
+        List<StepProgress> steps = execution.getStepExecutions().stream()
+                .sorted(Comparator.comparing(StepExecution::getId))
+                .map(StepProgress::from)
+                .toList();
+        return JobExecutionStatus.builder()
+                .executionId(execution.getId())
+                .jobName(execution.getJobInstance().getJobName())
+                .status(execution.getStatus().name())
+                .exitCode(execution.getExitStatus().getExitCode())
+                .startTime(execution.getStartTime())
+                .endTime(execution.getEndTime())
+                .readCount(leafSteps(steps).mapToLong(StepProgress::getReadCount).sum())
+                .writeCount(leafSteps(steps).mapToLong(StepProgress::getWriteCount).sum())
+                .filterCount(leafSteps(steps).mapToLong(StepProgress::getFilterCount).sum())
+                .skipCount(leafSteps(steps).mapToLong(StepProgress::getSkipCount).sum())
+                .steps(steps)
+                .build();
+    }
+
+    /**
+     * Workers de particiones ("worker:partición") si los hay; el step padre sólo agrega sus
+     * conteos al terminar, así que durante la ejecución se suman los workers.
+     */
+    private static Stream<StepProgress> leafSteps(List<StepProgress> steps) {
+        boolean partitioned = steps.stream().anyMatch(StepProgress::isPartition);
+        return steps.stream().filter(s -> !partitioned || s.isPartition());
+    }
+
+    @Getter @Builder
+    public static class StepProgress {
+        private String stepName;
+        private String status;
+        private long readCount;
+        private long writeCount;
+        private long filterCount;
+        private long skipCount;
+        private long commitCount;
+        private long rollbackCount;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+
+        boolean isPartition() {
+            return stepName.indexOf(':') >= 0;
+        }
+
+        static StepProgress from(StepExecution step) {
+            return StepProgress.builder()
+                    .stepName(step.getStepName())
+                    .status(step.getStatus().name())
+                    .readCount(step.getReadCount())
+                    .writeCount(step.getWriteCount())
+                    .filterCount(step.getFilterCount())
+                    .skipCount(step.getSkipCount())
+                    .commitCount(step.getCommitCount())
+                    .rollbackCount(step.getRollbackCount())
+                    .startTime(step.getStartTime())
+                    .endTime(step.getEndTime())
+                    .build();
+        }
+    }
+}
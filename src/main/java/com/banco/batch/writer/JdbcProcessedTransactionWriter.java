@@ -0,0 +1,49 @@
+package com.banco.batch.writer;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.id.IdBlockAllocator;
+import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.money.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inserta las transacciones procesadas con INSERTs JDBC en lote (sin pasar por el
+ * contexto de persistencia de JPA). JdbcTemplate usa la misma conexión que la
+ * transacción del step, así que el chunk sigue siendo atómico. Los IDs salen de
+ * id_allocator, igual que los que asigna Hibernate.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcProcessedTransactionWriter implements ItemWriter<ProcessedTransaction> {
+
+    static final String TABLE = "processed_transactions";
+    static final String INSERT_SQL = "INSERT INTO processed_transactions "
+            + "(id, account_number, txn_date, amount, category, anomaly, message, dedup_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final LegacyCsvProperties props;
+
+    @Override
+    public void write(Chunk<? extends ProcessedTransaction> chunk) {
+        for (ProcessedTransaction t : chunk.getItems()) {
+            if (t.getId() == null) {
+                t.setId(idAllocator.next(TABLE));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunk.getItems(), props.getWriter().getBatchSize(), (ps, t) -> {
+            ps.setLong(1, t.getId());
+            ps.setString(2, t.getAccountNumber());
+            ps.setDate(3, t.getTxnDate());
+            ps.setBigDecimal(4, Money.toDecimal(t.getAmountCents()));
+            ps.setString(5, t.getCategory());
+            ps.setBoolean(6, t.getAnomaly());
+            ps.setString(7, t.getMessage());
+            ps.setString(8, t.getDedupKey());
+        });
+    }
+}
@@ -1,31 +1,36 @@
 package com.banco.batch.writer;
 
+import com.banco.batch.config.LegacyCsvProperties;
 import com.banco.batch.model.InterestLedger;
-import com.banco.batch.repository.AccountRepository;
+import com.banco.batch.money.Money;
 import com.banco.batch.repository.InterestLedgerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 /**
  * Guarda el ledger y actualiza saldo de cuentas.
+ * Los saldos del chunk se aplican con un único UPDATE JDBC en lote (sin buscar ni guardar
+ * cada Account por JPA), en la misma transacción del step que el ledger.
  */
 @Component
 @RequiredArgsConstructor
 public class MonthlyInterestWriter implements ItemWriter<InterestLedger> {
 
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ? WHERE account_number = ?";
+
     private final InterestLedgerRepository ledgerRepository;
-    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LegacyCsvProperties props;
 
     @Override
     public void write(Chunk<? extends InterestLedger> chunk) {
         ledgerRepository.saveAll(chunk.getItems());
-        chunk.getItems().forEach(l -> {
-            accountRepository.findByAccountNumber(l.getAccountNumber()).ifPresent(acc -> {
-                acc.setBalance(l.getNewBalance());
-                accountRepository.save(acc);
-            });
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, chunk.getItems(), props.getWriter().getBatchSize(), (ps, l) -> {
+            ps.setBigDecimal(1, Money.toDecimal(l.getNewBalanceCents()));
+            ps.setString(2, l.getAccountNumber());
         });
     }
 }
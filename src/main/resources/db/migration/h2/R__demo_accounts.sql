@@ -1,4 +1,6 @@
-INSERT INTO accounts (account_number, type, balance, annual_interest_rate) VALUES
+-- Cuentas de ejemplo para la H2 en memoria de desarrollo (los CSV de data/ las referencian).
+-- Migración repetible (sin versión, sólo H2): se vuelve a aplicar si cambia, por eso MERGE
+MERGE INTO accounts (account_number, type, balance, annual_interest_rate) KEY (account_number) VALUES
  ('1','SAVINGS', 150000.00, 0.0300),
  ('2','LOAN',   -500000.00, 0.1200),
  ('101','SAVINGS', 50000.00, 0.0250),
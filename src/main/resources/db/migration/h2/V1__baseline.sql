@@ -1,3 +1,6 @@
+-- Esquema original de la aplicación (schema.sql antes de las migraciones); los cambios posteriores
+-- van en V2 en adelante. IF NOT EXISTS porque una BD creada con schema.sql recibe también esta versión
+-- (spring.flyway.baseline-version=0). Las tablas de Spring Batch las crea spring.batch.jdbc.initialize-schema
 CREATE TABLE IF NOT EXISTS accounts (
   id BIGINT PRIMARY KEY AUTO_INCREMENT,
   account_number VARCHAR(50) UNIQUE NOT NULL,
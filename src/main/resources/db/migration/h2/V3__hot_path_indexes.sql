@@ -0,0 +1,5 @@
+-- Movimientos de una cuenta en un rango de fechas (findByAccountNumberAndTxnDateBetween, backfill de totales)
+CREATE INDEX idx_processed_txn_account_date ON processed_transactions (account_number, txn_date);
+
+-- Un interés por cuenta y período: índice del anti-join NOT EXISTS de los motores de intereses
+ALTER TABLE interest_ledger ADD CONSTRAINT uk_interest_ledger_account_period UNIQUE (account_number, period_yyyymm);
@@ -0,0 +1,12 @@
+-- Carga account_monthly_totals desde el histórico de processed_transactions (BD con transacciones
+-- anteriores a la tabla). Reemplaza lo que hubiera: después la mantiene accountMonthlyTotalsStep
+DELETE FROM account_monthly_totals;
+
+INSERT INTO account_monthly_totals
+  (account_number, period_yyyymm, deposits, withdrawals, txn_count, anomaly_count)
+SELECT account_number, FORMATDATETIME(txn_date, 'yyyy-MM'),
+       SUM(CASE WHEN amount > 0 THEN amount ELSE 0 END),
+       SUM(CASE WHEN amount < 0 THEN -amount ELSE 0 END),
+       COUNT(*), SUM(CASE WHEN anomaly THEN 1 ELSE 0 END)
+FROM processed_transactions
+GROUP BY account_number, FORMATDATETIME(txn_date, 'yyyy-MM');
@@ -0,0 +1,37 @@
+-- IDs por bloques (id_allocator arranca en MAX(id) + 1): sin AUTO_INCREMENT en las tablas que los usan
+ALTER TABLE processed_transactions MODIFY id BIGINT NOT NULL;
+ALTER TABLE interest_ledger MODIFY id BIGINT NOT NULL;
+ALTER TABLE annual_statement MODIFY id BIGINT NOT NULL;
+
+-- Clave de deduplicación del reporte diario (TransactionDeduplicator); NULL en filas anteriores y duplicadas
+ALTER TABLE processed_transactions
+  ADD COLUMN dedup_key VARCHAR(255),
+  ADD CONSTRAINT uk_processed_txn_dedup_key UNIQUE (dedup_key);
+
+-- Totales por cuenta y mes (yyyy-MM), mantenidos por el reporte diario; los lee el estado anual
+CREATE TABLE account_monthly_totals (
+  account_number VARCHAR(50) NOT NULL,
+  period_yyyymm VARCHAR(7) NOT NULL,
+  deposits DECIMAL(18,2) NOT NULL,
+  withdrawals DECIMAL(18,2) NOT NULL,
+  txn_count BIGINT NOT NULL,
+  anomaly_count BIGINT NOT NULL,
+  PRIMARY KEY (account_number, period_yyyymm)
+);
+
+-- Bloques de IDs (hi/lo) para processed_transactions, interest_ledger y annual_statement
+CREATE TABLE id_allocator (
+  sequence_name VARCHAR(64) PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+-- Resumen de anomalías por step del reporte diario (dimension: RULE = mensaje de la regla, TIPO = tipo de transacción)
+CREATE TABLE anomaly_summary (
+  id BIGINT PRIMARY KEY,
+  job_execution_id BIGINT NOT NULL,
+  step_name VARCHAR(150) NOT NULL,
+  dimension VARCHAR(10) NOT NULL,
+  anomaly_key VARCHAR(255) NOT NULL,
+  occurrences BIGINT NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
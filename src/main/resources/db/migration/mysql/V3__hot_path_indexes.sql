@@ -0,0 +1,10 @@
+-- Movimientos de una cuenta en un rango de fechas (findByAccountNumberAndTxnDateBetween, backfill de totales)
+CREATE INDEX idx_processed_txn_account_date ON processed_transactions (account_number, txn_date);
+
+-- Un interés por cuenta y período: índice del anti-join NOT EXISTS de los motores de intereses
+ALTER TABLE interest_ledger ADD CONSTRAINT uk_interest_ledger_account_period UNIQUE (account_number, period_yyyymm);
+
+-- Movimientos de un mes de todas las cuentas (recálculo de account_monthly_totals al final de la ingesta).
+-- Sólo MySQL: en PostgreSQL el recálculo ya lee sólo la partición del mes, y en H2 (desarrollo y
+-- pruebas de carga) el índice encarece más la ingesta de lo que acelera el recálculo
+CREATE INDEX idx_processed_txn_date ON processed_transactions (txn_date);
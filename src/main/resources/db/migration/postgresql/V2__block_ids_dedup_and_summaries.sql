@@ -0,0 +1,59 @@
+-- IDs por bloques (id_allocator arranca en MAX(id) + 1): sin IDENTITY en las tablas que los usan
+ALTER TABLE interest_ledger ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE annual_statement ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- processed_transactions se reconstruye particionada por mes de txn_date: una partición
+-- processed_transactions_yyyyMM por mes (las crea ProcessedTransactionPartitions) y una DEFAULT para
+-- las filas de meses que todavía no tienen la suya; las filas existentes se copian a la DEFAULT.
+-- Las claves únicas de una tabla particionada deben incluir txn_date: dedup_key ya contiene la fecha
+-- de la fila legacy, y la deduplicación la hace TransactionDeduplicator consultando dedup_key.
+ALTER TABLE processed_transactions RENAME TO processed_transactions_v1;
+ALTER TABLE processed_transactions_v1 RENAME CONSTRAINT processed_transactions_pkey TO processed_transactions_v1_pkey;
+
+CREATE TABLE processed_transactions (
+  id BIGINT NOT NULL,
+  account_number VARCHAR(50) NOT NULL,
+  txn_date DATE NOT NULL,
+  amount DECIMAL(18,2) NOT NULL,
+  category VARCHAR(50),
+  anomaly BOOLEAN NOT NULL,
+  message VARCHAR(255),
+  dedup_key VARCHAR(255),
+  PRIMARY KEY (id, txn_date),
+  CONSTRAINT uk_processed_txn_dedup_key UNIQUE (dedup_key, txn_date)
+) PARTITION BY RANGE (txn_date);
+
+CREATE TABLE processed_transactions_default PARTITION OF processed_transactions DEFAULT;
+
+INSERT INTO processed_transactions (id, account_number, txn_date, amount, category, anomaly, message)
+SELECT id, account_number, txn_date, amount, category, anomaly, message FROM processed_transactions_v1;
+
+DROP TABLE processed_transactions_v1;
+
+-- Totales por cuenta y mes (yyyy-MM), mantenidos por el reporte diario; los lee el estado anual
+CREATE TABLE account_monthly_totals (
+  account_number VARCHAR(50) NOT NULL,
+  period_yyyymm VARCHAR(7) NOT NULL,
+  deposits DECIMAL(18,2) NOT NULL,
+  withdrawals DECIMAL(18,2) NOT NULL,
+  txn_count BIGINT NOT NULL,
+  anomaly_count BIGINT NOT NULL,
+  PRIMARY KEY (account_number, period_yyyymm)
+);
+
+-- Bloques de IDs (hi/lo) para processed_transactions, interest_ledger y annual_statement
+CREATE TABLE id_allocator (
+  sequence_name VARCHAR(64) PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+-- Resumen de anomalías por step del reporte diario (dimension: RULE = mensaje de la regla, TIPO = tipo de transacción)
+CREATE TABLE anomaly_summary (
+  id BIGINT PRIMARY KEY,
+  job_execution_id BIGINT NOT NULL,
+  step_name VARCHAR(150) NOT NULL,
+  dimension VARCHAR(10) NOT NULL,
+  anomaly_key VARCHAR(255) NOT NULL,
+  occurrences BIGINT NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,6 @@
+-- Movimientos de una cuenta en un rango de fechas (findByAccountNumberAndTxnDateBetween, backfill de totales).
+-- Índice particionado: cada partición mensual tiene el suyo y las consultas por fecha sólo leen sus meses
+CREATE INDEX idx_processed_txn_account_date ON processed_transactions (account_number, txn_date);
+
+-- Un interés por cuenta y período: índice del anti-join NOT EXISTS de los motores de intereses
+ALTER TABLE interest_ledger ADD CONSTRAINT uk_interest_ledger_account_period UNIQUE (account_number, period_yyyymm);
@@ -0,0 +1,79 @@
+package com.banco.batch.anomaly;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.id.IdBlockAllocator;
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.processor.rules.TransactionCheck;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnomalyAccumulatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private IdBlockAllocator idAllocator;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void afterStep_ShouldSummarizeByRuleAndTipoAndSampleLogs() {
+        // Given: se loguean las 2 primeras de cada regla y luego 1 de cada 5
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getAnomalies().setLogFirst(2);
+        props.getAnomalies().setLogEvery(5);
+        AnomalyAccumulator accumulator = new AnomalyAccumulator(jdbcTemplate, idAllocator, props);
+        when(idAllocator.next(anyString())).thenReturn(1L, 2L, 3L, 4L);
+
+        for (int i = 0; i < 10; i++) {
+            accumulator.record(check("credito", "Cuenta inexistente"));
+        }
+        accumulator.record(check("pago", "Cuenta inexistente", "Monto vacío"));
+
+        StepExecution stepExecution = new StepExecution("dailyTransactionsStep", new JobExecution(7L));
+
+        // When
+        accumulator.afterStep(stepExecution);
+
+        // Then
+        assertThat(stepExecution.getExecutionContext().getLong("anomalies.total")).isEqualTo(11);
+        assertThat((Map<String, Long>) stepExecution.getExecutionContext().get("anomalies.byRule"))
+                .containsEntry("Cuenta inexistente", 11L)
+                .containsEntry("Monto vacío", 1L);
+        assertThat((Map<String, Long>) stepExecution.getExecutionContext().get("anomalies.byTipo"))
+                .containsEntry("credito", 10L)
+                .containsEntry("pago", 1L);
+        // Logueadas: ocurrencias 1, 2, 5, 10 de "Cuenta inexistente" y la fila con "Monto vacío"
+        assertThat(accumulator.getSuppressedLogs()).isEqualTo(6);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(AnomalyAccumulator.INSERT_SQL), rows.capture());
+        assertThat(rows.getValue()).hasSize(4)
+                .allSatisfy(row -> assertThat(row[1]).isEqualTo(7L));
+    }
+
+    private TransactionCheck check(String tipo, String... failures) {
+        TransactionCheck check = new TransactionCheck(TransactionRecord.builder().id("1").build(), (number, c) -> false);
+        check.setTipo(tipo);
+        for (String failure : failures) {
+            check.fail(failure);
+        }
+        return check;
+    }
+}
@@ -0,0 +1,42 @@
+package com.banco.batch.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountSnapshotTest {
+
+    @Test
+    void put_ShouldResolveTypeAndBalanceBySlot() {
+        // Given
+        AccountSnapshot snapshot = new AccountSnapshot(2);
+        snapshot.put("101", "SAVINGS", 5_000_000L);
+        snapshot.put("201", "LOAN", -30_000_000L);
+
+        // When
+        int slot = snapshot.slotOf("201");
+
+        // Then
+        assertThat(slot).isGreaterThanOrEqualTo(0);
+        assertThat(snapshot.typeAt(slot)).isEqualTo("LOAN");
+        assertThat(snapshot.balanceAt(slot)).isEqualTo(-30_000_000L);
+        assertThat(snapshot.slotOf("9999")).isEqualTo(-1);
+    }
+
+    @Test
+    void put_BeyondExpectedSize_ShouldGrowAndKeepEntries() {
+        // Given
+        AccountSnapshot snapshot = new AccountSnapshot(4);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            snapshot.put(String.valueOf(i), i % 2 == 0 ? "SAVINGS" : "LOAN", i);
+        }
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(1000);
+        int slot = snapshot.slotOf("777");
+        assertThat(snapshot.typeAt(slot)).isEqualTo("LOAN");
+        assertThat(snapshot.balanceAt(slot)).isEqualTo(777L);
+    }
+}
@@ -0,0 +1,174 @@
+package com.banco.batch.dedup;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.TransactionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionDeduplicatorTest {
+
+    private static final String INGESTED_KEY = "1|2025-08-01|5000000|credito";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void classify_ShouldSkipIngestedRowsAndFlagRepeatsWithOneQueryPerChunk() throws Exception {
+        // Given: la BD ya tiene la fila 1 del 2025-08-01
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        TransactionDeduplicator deduplicator = new TransactionDeduplicator(jdbcTemplate, props, new IngestedKeysRegistry());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(INGESTED_KEY);
+        doAnswer(inv -> {
+            inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of(INGESTED_KEY));
+
+        StepExecution stepExecution = new StepExecution("dailyTransactionsStep", new JobExecution(3L));
+        deduplicator.beforeStep(stepExecution);
+        deduplicator.beforeChunk(null);
+
+        TransactionRecord ingested = record("1", "2025-08-01", "50000");
+        TransactionRecord first = record("2", "2025-08-01", "100");
+        TransactionRecord repeated = record("2", "2025/08/01", "100.00");
+        List.of(ingested, first, repeated).forEach(deduplicator::afterRead);
+
+        // When / Then
+        assertThat(deduplicator.classify(TransactionDeduplicator.keyOf(ingested), ingested))
+                .isEqualTo(TransactionDeduplicator.Outcome.INGESTED);
+        assertThat(deduplicator.classify(TransactionDeduplicator.keyOf(first), first))
+                .isEqualTo(TransactionDeduplicator.Outcome.NEW);
+        assertThat(deduplicator.classify(TransactionDeduplicator.keyOf(repeated), repeated))
+                .isEqualTo(TransactionDeduplicator.Outcome.DUPLICATE);
+        // Reintento del chunk: el mismo ítem sigue siendo el dueño de la clave
+        assertThat(deduplicator.classify(TransactionDeduplicator.keyOf(first), first))
+                .isEqualTo(TransactionDeduplicator.Outcome.NEW);
+
+        deduplicator.afterStep(stepExecution);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), any(Object[].class));
+        assertThat(stepExecution.getExecutionContext().getLong("dedup.skipped")).isEqualTo(1);
+        assertThat(stepExecution.getExecutionContext().getLong("dedup.flagged")).isEqualTo(1);
+    }
+
+    @Test
+    void classify_ShouldShareClaimsAcrossPartitionsAndNeverDropRowsOfTheRun() throws Exception {
+        // Given: dos particiones de la misma JobExecution, sin filtro en memoria (max-memory-mb=0)
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getDedup().setMaxMemoryMb(0);
+        IngestedKeysRegistry registry = new IngestedKeysRegistry();
+        TransactionDeduplicator first = new TransactionDeduplicator(jdbcTemplate, props, registry);
+        TransactionDeduplicator second = new TransactionDeduplicator(jdbcTemplate, props, registry);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10_000_000L);
+        JobExecution jobExecution = new JobExecution(4L);
+        StepExecution range0 = new StepExecution("dailyTransactionsPartitionedStep:range0", jobExecution);
+        StepExecution range1 = new StepExecution("dailyTransactionsPartitionedStep:range1", jobExecution);
+        first.beforeStep(range0);
+        second.beforeStep(range1);
+        TransactionRecord row = record("2", "2025-08-01", "100");
+        TransactionRecord overlap = record("2", "2025-08-01", "100");
+        String key = TransactionDeduplicator.keyOf(row);
+
+        // When: la primera partición acepta y confirma la fila
+        first.beforeChunk(null);
+        assertThat(first.classify(key, row)).isEqualTo(TransactionDeduplicator.Outcome.NEW);
+        first.afterChunk(null);
+        // y la segunda la vuelve a leer cuando ya está en la BD
+        second.beforeChunk(null);
+        TransactionDeduplicator.Outcome outcome = second.classify(key, overlap);
+
+        // Then: es un duplicado de la ejecución, no una fila ingerida antes
+        assertThat(outcome).isEqualTo(TransactionDeduplicator.Outcome.DUPLICATE);
+        assertThat(second.getFlagged()).isEqualTo(1);
+        assertThat(second.getSkipped()).isZero();
+    }
+
+    @Test
+    void classify_AfterChunkError_ShouldReleaseClaimsForTheRetry() {
+        // Given
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        TransactionDeduplicator deduplicator = new TransactionDeduplicator(jdbcTemplate, props, new IngestedKeysRegistry());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        deduplicator.beforeStep(new StepExecution("dailyTransactionsStep", new JobExecution(5L)));
+        TransactionRecord row = record("3", "2025-08-01", "100");
+        String key = TransactionDeduplicator.keyOf(row);
+        deduplicator.beforeChunk(null);
+        assertThat(deduplicator.classify(key, row)).isEqualTo(TransactionDeduplicator.Outcome.NEW);
+
+        // When: el chunk se revierte y el reintento trae una copia del ítem
+        deduplicator.afterChunkError(null);
+        deduplicator.beforeChunk(null);
+        TransactionRecord retried = record("3", "2025-08-01", "100");
+
+        // Then
+        assertThat(deduplicator.classify(key, retried)).isEqualTo(TransactionDeduplicator.Outcome.NEW);
+        assertThat(deduplicator.getFlagged()).isZero();
+    }
+
+    @Test
+    void keyOf_ShouldIdentifyRowsByFileLineAndNormalizedContent() {
+        // Given: dos líneas idénticas del mismo archivo y la primera con otro formato
+        TransactionRecord line2 = record("7", "2025-08-01", "1000");
+        line2.setArchivo("transactions_2025-08-01.csv");
+        line2.setLinea(2);
+        TransactionRecord line3 = record("7", "2025-08-01", "1000");
+        line3.setArchivo("transactions_2025-08-01.csv");
+        line3.setLinea(3);
+        TransactionRecord reformatted = record("7", "2025/08/01", "1000.00");
+        reformatted.setTipo(" CREDITO ");
+        reformatted.setArchivo("transactions_2025-08-01.csv");
+        reformatted.setLinea(2);
+
+        // When / Then
+        assertThat(TransactionDeduplicator.keyOf(line2)).isEqualTo("transactions_2025-08-01.csv:2|7|2025-08-01|100000|credito");
+        assertThat(TransactionDeduplicator.keyOf(line3)).isNotEqualTo(TransactionDeduplicator.keyOf(line2));
+        assertThat(TransactionDeduplicator.keyOf(reformatted)).isEqualTo(TransactionDeduplicator.keyOf(line2));
+    }
+
+    @Test
+    void bloomFilter_ShouldNeverReturnFalseNegatives() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(BloomFilter.hash("key-" + i));
+        }
+
+        // When
+        long falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(BloomFilter.hash("key-" + i))).isTrue();
+            if (filter.mightContain(BloomFilter.hash("other-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private static TransactionRecord record(String id, String fecha, String monto) {
+        return TransactionRecord.builder().id(id).fecha(fecha).monto(monto).tipo("credito").build();
+    }
+}
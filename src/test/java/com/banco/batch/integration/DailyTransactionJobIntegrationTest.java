@@ -1,27 +1,52 @@
 package com.banco.batch.integration;
 
+import com.banco.batch.config.LegacyCsvProperties;
 import com.banco.batch.model.Account;
 import com.banco.batch.model.ProcessedTransaction;
+import com.banco.batch.money.Money;
+import com.banco.batch.reader.AccountPagingReader;
 import com.banco.batch.repository.AccountRepository;
 import com.banco.batch.repository.ProcessedTransactionRepository;
+import com.banco.batch.web.JobController;
+import com.banco.batch.web.JobExecutionStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobExecutionNotRunningException;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.batch.test.JobRepositoryTestUtils;
 import org.springframework.batch.test.context.SpringBatchTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @SpringBatchTest
@@ -42,86 +67,117 @@ class DailyTransactionJobIntegrationTest {
     @Qualifier("dailyTransactionsReportJob")
     private Job dailyTransactionsReportJob;
 
+    @Autowired
+    @Qualifier("dailyTransactionsBackfillJob")
+    private Job dailyTransactionsBackfillJob;
+
+    @Autowired
+    @Qualifier("monthlyInterestJob")
+    private Job monthlyInterestJob;
+
+    @Autowired
+    @Qualifier("annualStatementJob")
+    private Job annualStatementJob;
+
     @Autowired
     private AccountRepository accountRepository;
 
     @Autowired
     private ProcessedTransactionRepository processedTransactionRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobController jobController;
+
+    @Autowired
+    private AccountPagingReader accountPagingReader;
+
+    @Autowired
+    private LegacyCsvProperties legacyProps;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
     @BeforeEach
     void setUp() {
         jobRepositoryTestUtils.removeJobExecutions();
         processedTransactionRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM account_monthly_totals");
         
         // Setup test accounts that match the CSV data
         accountRepository.deleteAll();
         Account account101 = Account.builder()
                 .accountNumber("101")
                 .type("SAVINGS")
-                .balance(150000.0)
+                .balanceCents(15_000_000L)
                 .annualInterestRate(0.03)
                 .build();
 
         Account account102 = Account.builder()
                 .accountNumber("102")
                 .type("SAVINGS")
-                .balance(50000.0)
+                .balanceCents(5_000_000L)
                 .annualInterestRate(0.03)
                 .build();
 
         Account account103 = Account.builder()
                 .accountNumber("103")
                 .type("SAVINGS")
-                .balance(25000.0)
+                .balanceCents(2_500_000L)
                 .annualInterestRate(0.03)
                 .build();
 
         Account account201 = Account.builder()
                 .accountNumber("201")
                 .type("LOAN")
-                .balance(-500000.0)
+                .balanceCents(-50_000_000L)
                 .annualInterestRate(0.12)
                 .build();
 
         Account account202 = Account.builder()
                 .accountNumber("202")
                 .type("LOAN")
-                .balance(-300000.0)
+                .balanceCents(-30_000_000L)
                 .annualInterestRate(0.12)
                 .build();
 
         Account account104 = Account.builder()
                 .accountNumber("104")
                 .type("SAVINGS")
-                .balance(10000.0)
+                .balanceCents(1_000_000L)
                 .annualInterestRate(0.03)
                 .build();
 
         Account account105 = Account.builder()
                 .accountNumber("105")
                 .type("SAVINGS")
-                .balance(5000.0)
+                .balanceCents(500_000L)
                 .annualInterestRate(0.03)
                 .build();
 
         Account account106 = Account.builder()
                 .accountNumber("106")
                 .type("SAVINGS")
-                .balance(15000.0)
+                .balanceCents(1_500_000L)
                 .annualInterestRate(0.03)
                 .build();
 
         Account account203 = Account.builder()
                 .accountNumber("203")
                 .type("LOAN")
-                .balance(-100000.0)
+                .balanceCents(-10_000_000L)
                 .annualInterestRate(0.12)
                 .build();
 
         Account account204 = Account.builder()
                 .accountNumber("204")
                 .type("LOAN")
-                .balance(-50000.0)
+                .balanceCents(-5_000_000L)
                 .annualInterestRate(0.12)
                 .build();
 
@@ -175,6 +231,167 @@ class DailyTransactionJobIntegrationTest {
         boolean hasInvalidDateAnomaly = processedTransactions.stream()
                 .anyMatch(t -> t.getMessage() != null && t.getMessage().contains("Formato de fecha inválido"));
         assertThat(hasInvalidDateAnomaly).isTrue();
+
+        // Verify that unknown accounts were resolved from the step snapshot without extra queries
+        StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getExecutionContext().getLong("accountCache.misses")).isGreaterThan(0);
+        assertThat(stepExecution.getExecutionContext().getLong("accountCache.dbQueries")).isEqualTo(1);
+
+        // Verify that the anomaly summary matches the flagged rows and was persisted
+        assertThat(stepExecution.getExecutionContext().getLong("anomalies.total")).isEqualTo(anomalyCount);
+        Long summarized = jdbcTemplate.queryForObject(
+                "SELECT SUM(occurrences) FROM anomaly_summary WHERE job_execution_id = ? AND dimension = 'TIPO'",
+                Long.class, jobExecution.getId());
+        assertThat(summarized).isEqualTo(anomalyCount);
+
+        // Nothing in the file repeats a line, so nothing is flagged as a duplicate
+        assertThat(processedTransactions)
+                .noneMatch(t -> t.getMessage() != null && t.getMessage().contains("Transacción duplicada"));
+        assertThat(stepExecution.getExecutionContext().getLong("dedup.flagged")).isZero();
+    }
+
+    @Test
+    void testDailyTransactionJob_IdenticalRows_ShouldIngestAllAndSkipAllOnRerun() throws Exception {
+        // Given: el archivo del 2025-07-31 repite filas legítimas (misma cuenta, fecha, monto y tipo)
+        JobExecution first = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.date", "2025-07-31")
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters());
+        assertThat(first.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        // When
+        JobExecution second = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.date", "2025-07-31")
+                .addLong("timestamp", System.currentTimeMillis() + 1)
+                .toJobParameters());
+
+        // Then: cada línea es una transacción, sin anomalías y con su propia clave
+        assertThat(processedTransactionRepository.findAll())
+                .hasSize(10)
+                .allSatisfy(t -> assertThat(t.getAnomaly()).isFalse())
+                .extracting(ProcessedTransaction::getDedupKey)
+                .doesNotContainNull()
+                .doesNotHaveDuplicates();
+        assertThat(first.getStepExecutions().iterator().next().getExecutionContext().getLong("dedup.flagged")).isZero();
+        // y el reproceso del mismo archivo las descarta todas
+        assertThat(second.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        StepExecution stepExecution = second.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getWriteCount()).isZero();
+        assertThat(stepExecution.getExecutionContext().getLong("dedup.skipped")).isEqualTo(10);
+    }
+
+    @Test
+    void testDailyTransactionJob_RerunSameFile_ShouldSkipIngestedRows() throws Exception {
+        // Given: el archivo del 2025-08-02 ya fue ingerido una vez
+        JobExecution first = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.date", "2025-08-02")
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters());
+        assertThat(first.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        long ingested = processedTransactionRepository.count();
+
+        // When
+        JobExecution second = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.date", "2025-08-02")
+                .addLong("timestamp", System.currentTimeMillis() + 1)
+                .toJobParameters());
+
+        // Then
+        assertThat(second.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(processedTransactionRepository.count()).isEqualTo(ingested).isEqualTo(10);
+        StepExecution stepExecution = second.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getFilterCount()).isEqualTo(10);
+        assertThat(stepExecution.getExecutionContext().getLong("dedup.skipped")).isEqualTo(10);
+        assertThat(stepExecution.getExecutionContext().getLong("dedup.dbQueries")).isEqualTo(3);
+    }
+
+    @Test
+    void testDailyTransactionJob_ParallelRestart_ShouldNotRewriteCommittedRows() throws Exception {
+        legacyProps.getParallel().setEnabled(true);
+        try {
+            // Given: una ejecución en modo paralelo (lector sin posición) que falló después de
+            // confirmar 4 de las 10 filas del 2025-07-31, cada una con una gemela idéntica pendiente
+            JobExecution full = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                    .addString("run.date", "2025-07-31")
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters());
+            assertThat(full.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+            List<String> expected = processedRows();
+            jdbcTemplate.update("DELETE FROM processed_transactions WHERE SUBSTRING(dedup_key, 1, INSTR(dedup_key, '|') - 1) "
+                    + "NOT IN ('transactions_2025-07-31.csv:2', 'transactions_2025-07-31.csv:4', "
+                    + "'transactions_2025-07-31.csv:5', 'transactions_2025-07-31.csv:8')");
+            assertThat(processedTransactionRepository.count()).isEqualTo(4);
+            JobParameters params = new JobParametersBuilder()
+                    .addString("run.date", "2025-07-31")
+                    .addLong("timestamp", System.currentTimeMillis() + 1)
+                    .toJobParameters();
+            recordFailedParallelExecution(params);
+
+            // When: el restart relee el archivo desde la primera fila
+            JobExecution restart = jobLauncherTestUtils.launchJob(params);
+
+            // Then: la deduplicación descarta las 4 confirmadas y escribe las 6 que faltaban,
+            // aunque repitan cuenta, fecha y monto de las confirmadas
+            assertThat(restart.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+            assertThat(jobExplorer.getJobExecutions(restart.getJobInstance())).hasSize(2);
+            StepExecution stepExecution = restart.getStepExecutions().iterator().next();
+            assertThat(stepExecution.getReadCount()).isEqualTo(10);
+            assertThat(stepExecution.getWriteCount()).isEqualTo(6);
+            assertThat(stepExecution.getExecutionContext().getLong("dedup.skipped")).isEqualTo(4);
+            assertThat(processedTransactionRepository.count()).isEqualTo(10);
+            assertThat(processedRows()).isEqualTo(expected);
+
+            // Sin deduplicación el mismo restart se rechaza en vez de duplicar filas
+            legacyProps.getDedup().setEnabled(false);
+            JobParameters unsafe = new JobParametersBuilder()
+                    .addString("run.date", "2025-07-31")
+                    .addLong("timestamp", System.currentTimeMillis() + 2)
+                    .toJobParameters();
+            recordFailedParallelExecution(unsafe);
+            JobExecution rejected = jobLauncherTestUtils.launchJob(unsafe);
+            assertThat(rejected.getStatus()).isEqualTo(BatchStatus.FAILED);
+            assertThat(rejected.getAllFailureExceptions()).isNotEmpty();
+            assertThat(rejected.getExitStatus().getExitDescription()).contains("legacy.dedup.enabled");
+            assertThat(processedRows()).isEqualTo(expected);
+        } finally {
+            legacyProps.getParallel().setEnabled(false);
+            legacyProps.getDedup().setEnabled(true);
+        }
+    }
+
+    @Test
+    void testDailyTransactionJob_ShouldKeepMonthlyTotalsInSyncWithProcessedRows() throws Exception {
+        // Given: el archivo con errores y el del 2025-08-02, éste ingerido dos veces
+        for (String date : List.of("", "2025-08-02", "2025-08-02")) {
+            JobExecution execution = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                    .addString("run.date", date)
+                    .addLong("timestamp", System.nanoTime())
+                    .toJobParameters());
+            assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        }
+
+        // When
+        List<String> totals = jdbcTemplate.query("SELECT account_number, period_yyyymm, deposits, withdrawals, "
+                        + "txn_count, anomaly_count FROM account_monthly_totals ORDER BY account_number, period_yyyymm",
+                (rs, i) -> rs.getString(1) + " " + rs.getString(2) + " " + rs.getBigDecimal(3).toPlainString() + " "
+                        + rs.getBigDecimal(4).toPlainString() + " " + rs.getLong(5) + " " + rs.getLong(6));
+
+        // Then: los mismos totales que agrupar processed_transactions, sin sumar la segunda ingesta
+        Map<String, long[]> expected = new TreeMap<>();
+        for (ProcessedTransaction t : processedTransactionRepository.findAll()) {
+            if (t.getAccountNumber() == null) {
+                continue;
+            }
+            long[] m = expected.computeIfAbsent(t.getAccountNumber() + " "
+                    + YearMonth.from(t.getTxnDate().toLocalDate()), k -> new long[4]);
+            m[t.getAmountCents() > 0 ? 0 : 1] += Math.abs(t.getAmountCents());
+            m[2]++;
+            m[3] += t.getAnomaly() ? 1 : 0;
+        }
+        assertThat(totals).isNotEmpty().containsExactlyElementsOf(expected.entrySet().stream()
+                .map(e -> e.getKey() + " " + Money.toDecimal(e.getValue()[0]).toPlainString() + " "
+                        + Money.toDecimal(e.getValue()[1]).toPlainString() + " " + e.getValue()[2] + " " + e.getValue()[3])
+                .toList());
     }
 
     @Test
@@ -200,5 +417,342 @@ class DailyTransactionJobIntegrationTest {
                 .sum();
         
         assertThat(validCount).isGreaterThan(0);
+
+        StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getExecutionContext().getLong("accountCache.hits")).isGreaterThan(0);
+    }
+
+    @Test
+    void testBackfillJob_WithDateRange_ShouldRunOnePartitionPerExistingFile() throws Exception {
+        // Given: 2025-08-03 no tiene archivo
+        jobLauncherTestUtils.setJob(dailyTransactionsBackfillJob);
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("run.from", "2025-08-01")
+                .addString("run.to", "2025-08-03")
+                .toJobParameters();
+
+        // When
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // Then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        List<String> workerSteps = jobExecution.getStepExecutions().stream()
+                .map(StepExecution::getStepName)
+                .filter(name -> name.startsWith("dailyTransactionsFileWorkerStep"))
+                .sorted()
+                .toList();
+        assertThat(workerSteps).containsExactly(
+                "dailyTransactionsFileWorkerStep:transactions_2025-08-01.csv",
+                "dailyTransactionsFileWorkerStep:transactions_2025-08-02.csv");
+        assertThat(processedTransactionRepository.count()).isEqualTo(15);
+
+        // Los días ya completados no se vuelven a procesar
+        assertThatThrownBy(() -> jobLauncherTestUtils.launchJob(jobParameters))
+                .isInstanceOf(JobInstanceAlreadyCompleteException.class);
+    }
+
+    @Test
+    void testBackfillJob_WithGlobPattern_ShouldDiscoverMatchingFiles() throws Exception {
+        // Given
+        jobLauncherTestUtils.setJob(dailyTransactionsBackfillJob);
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("run.pattern", "transactions_2025-08-0*.csv")
+                .toJobParameters();
+
+        // When
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // Then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions())
+                .filteredOn(step -> step.getStepName().startsWith("dailyTransactionsFileWorkerStep"))
+                .hasSize(2)
+                .allSatisfy(step -> assertThat(step.getStatus()).isEqualTo(BatchStatus.COMPLETED));
+    }
+
+    @Test
+    void testBackfillJob_WithInvalidRange_ShouldBeRejectedAsBadRequest() {
+        // When / Then: fecha inválida, to anterior a from, y job sin from ni pattern
+        assertThatThrownBy(() -> jobController.runDaily(null, "2025-08-3x", null, null, false))
+                .isInstanceOf(JobParametersInvalidException.class)
+                .hasMessageContaining("run.from");
+        assertThatThrownBy(() -> jobController.runDaily(null, "2025-08-03", "2025-08-01", null, false))
+                .isInstanceOf(JobParametersInvalidException.class)
+                .hasMessageContaining("anterior");
+        jobLauncherTestUtils.setJob(dailyTransactionsBackfillJob);
+        assertThatThrownBy(() -> jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.to", "2025-08-03")
+                .toJobParameters()))
+                .isInstanceOf(JobParametersInvalidException.class);
+
+        assertThat(jobController.invalidParameters(new JobParametersInvalidException("x")).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testAsyncLaunch_ShouldReturnExecutionIdAndExposeProgress() throws Exception {
+        // When
+        ResponseEntity<?> response = jobController.runDaily("2025-08-02", null, null, null, true);
+
+        // Then: responde antes de que el job termine, con el id para consultar
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        long executionId = ((JobExecutionStatus) response.getBody()).getExecutionId();
+        assertThat(response.getHeaders().getLocation()).hasToString("/jobs/executions/" + executionId);
+
+        JobExecutionStatus status = jobController.status(executionId).getBody();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!status.getStatus().equals("COMPLETED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = jobController.status(executionId).getBody();
+        }
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getReadCount()).isEqualTo(10);
+        assertThat(status.getWriteCount()).isEqualTo(10);
+        assertThat(status.getSteps()).extracting(JobExecutionStatus.StepProgress::getStepName)
+                .containsExactly("dailyTransactionsStep", "accountMonthlyTotalsStep");
+
+        // Una ejecución terminada no se puede detener; una inexistente da 404
+        assertThatThrownBy(() -> jobController.stop(executionId))
+                .isInstanceOf(JobExecutionNotRunningException.class);
+        assertThat(jobController.status(Long.MAX_VALUE).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testAccountReader_RestartedFromExecutionContext_ShouldResumeAfterLastAccount() throws Exception {
+        // Given: se leen 3 cuentas y se guarda la posición como en un commit de chunk
+        List<String> expected = accountRepository.findAll().stream()
+                .sorted(Comparator.comparing(Account::getId))
+                .map(Account::getAccountNumber)
+                .toList();
+        ExecutionContext executionContext = new ExecutionContext();
+        JdbcPagingItemReader<Account> first = accountPagingReader.build("accountReader");
+        first.setPageSize(2);
+        first.afterPropertiesSet();
+        first.open(executionContext);
+        for (int i = 0; i < 3; i++) {
+            first.read();
+        }
+        first.update(executionContext);
+        first.close();
+
+        // When
+        JdbcPagingItemReader<Account> restarted = accountPagingReader.build("accountReader");
+        restarted.open(executionContext);
+        List<String> rest = new ArrayList<>();
+        for (Account account = restarted.read(); account != null; account = restarted.read()) {
+            rest.add(account.getAccountNumber());
+        }
+        restarted.close();
+
+        // Then
+        assertThat(rest).isEqualTo(expected.subList(3, expected.size()));
+    }
+
+    @Test
+    void testMonthlyInterestJob_SqlEngine_ShouldMatchJvmEngine() throws Exception {
+        // Given: además de las cuentas base, intereses en empate exacto (-0.005 y 0.015)
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+        List<Account> accounts = seedAccountsForInterest();
+
+        // When
+        List<String> jvm = runMonthlyInterest("jvm", "monthlyInterestStep");
+        setUp();
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+        assertThat(seedAccountsForInterest()).hasSameSizeAs(accounts);
+        List<String> sql = runMonthlyInterest("sql", "monthlyInterestPushDownStep");
+
+        // Then: mismo ledger y mismos saldos finales
+        assertThat(sql).isEqualTo(jvm).hasSize(accounts.size() * 2);
+        // Redondeo bancario: los empates van al centavo par
+        assertThat(jvm).contains("ledger 301 0.00 -1.00", "ledger 302 0.02 3.02");
+    }
+
+    @Test
+    void testMonthlyInterestJob_ColumnarEngine_ShouldMatchJvmEngineAcrossBlocks() throws Exception {
+        // Given
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+        List<Account> accounts = seedAccountsForInterest();
+        List<String> jvm = runMonthlyInterest("jvm", "monthlyInterestStep");
+        setUp();
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+        seedAccountsForInterest();
+
+        // When: bloques de 5 cuentas, varias transacciones
+        int blockSize = legacyProps.getInterest().getColumnarBlockSize();
+        legacyProps.getInterest().setColumnarBlockSize(5);
+        List<String> columnar;
+        try {
+            columnar = runMonthlyInterest("columnar", "monthlyInterestColumnarStep");
+        } finally {
+            legacyProps.getInterest().setColumnarBlockSize(blockSize);
+        }
+
+        // Then
+        assertThat(columnar).isEqualTo(jvm).hasSize(accounts.size() * 2);
+    }
+
+    @Test
+    void testMonthlyInterestJob_Partitioned_ShouldPostEveryAccountOnce() throws Exception {
+        // Given
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+        List<Account> accounts = seedAccountsForInterest();
+        List<String> sequential = runMonthlyInterest("jvm", "monthlyInterestStep");
+        setUp();
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+        seedAccountsForInterest();
+
+        // When
+        legacyProps.getInterest().setPartitioned(true);
+        List<String> partitioned;
+        try {
+            partitioned = runMonthlyInterest("jvm", "monthlyInterestPartitionedStep");
+        } finally {
+            legacyProps.getInterest().setPartitioned(false);
+        }
+
+        // Then
+        assertThat(partitioned).isEqualTo(sequential).hasSize(accounts.size() * 2);
+    }
+
+    @Test
+    void testMonthlyInterestJob_ResumedClose_ShouldOnlyPostRemainingAccounts() throws Exception {
+        for (String engine : List.of("jvm", "sql", "columnar")) {
+            // Given: la cuenta 101 ya quedó posteada para el período por una corrida anterior
+            setUp();
+            jobLauncherTestUtils.setJob(monthlyInterestJob);
+            int accounts = seedAccountsForInterest().size();
+            jdbcTemplate.update("INSERT INTO interest_ledger (id, account_number, period_yyyymm, interest_amount, new_balance) "
+                    + "VALUES (-1, '101', '2025-08', 375.00, 150375.00)");
+
+            // When
+            JobExecution first = jobLauncherTestUtils.launchJob(monthlyInterestParameters(engine));
+            List<String> afterFirst = jdbcTemplate.query(
+                    "SELECT account_number, balance FROM accounts ORDER BY account_number",
+                    (rs, i) -> rs.getString(1) + " " + rs.getBigDecimal(2).toPlainString());
+            JobExecution rerun = jobLauncherTestUtils.launchJob(monthlyInterestParameters(engine));
+
+            // Then: la cuenta 101 no se toca, el resto se postea una sola vez y la segunda corrida no hace nada
+            assertThat(first.getStatus()).as(engine).isEqualTo(BatchStatus.COMPLETED);
+            assertThat(first.getStepExecutions().iterator().next().getWriteCount()).as(engine).isEqualTo(accounts - 1);
+            assertThat(afterFirst).as(engine).contains("101 150000.00");
+            assertThat(rerun.getStatus()).as(engine).isEqualTo(BatchStatus.COMPLETED);
+            assertThat(rerun.getStepExecutions().iterator().next().getWriteCount()).as(engine).isZero();
+            assertThat(jdbcTemplate.query("SELECT account_number, balance FROM accounts ORDER BY account_number",
+                    (rs, i) -> rs.getString(1) + " " + rs.getBigDecimal(2).toPlainString())).as(engine).isEqualTo(afterFirst);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interest_ledger WHERE period_yyyymm = '2025-08'",
+                    Integer.class)).as(engine).isEqualTo(accounts);
+        }
+    }
+
+    @Test
+    void testMonthlyInterestJob_WithoutValidPeriod_ShouldBeRejected() {
+        // Given
+        jobLauncherTestUtils.setJob(monthlyInterestJob);
+
+        // When / Then
+        assertThatThrownBy(() -> jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.period", "2025-8")
+                .addLong("timestamp", System.nanoTime())
+                .toJobParameters()))
+                .isInstanceOf(JobParametersInvalidException.class);
+    }
+
+    @Test
+    void testAnnualStatementJob_SqlEngine_ShouldMatchJvmEngine() throws Exception {
+        // Given: totales de 2025 en dos cuentas y uno de 2024 que no cuenta
+        jobLauncherTestUtils.setJob(annualStatementJob);
+        String insert = "INSERT INTO account_monthly_totals "
+                + "(account_number, period_yyyymm, deposits, withdrawals, txn_count, anomaly_count) VALUES (?, ?, ?, ?, 1, 0)";
+        jdbcTemplate.update(insert, "101", "2025-01", new BigDecimal("100.10"), BigDecimal.ZERO);
+        jdbcTemplate.update(insert, "101", "2025-12", BigDecimal.ZERO, new BigDecimal("25.55"));
+        jdbcTemplate.update(insert, "101", "2024-12", new BigDecimal("999.00"), BigDecimal.ZERO);
+        jdbcTemplate.update(insert, "102", "2025-06", BigDecimal.ZERO, new BigDecimal("10.00"));
+        int accounts = accountRepository.findAll().size();
+
+        // When
+        List<String> jvm = runAnnualStatement("jvm", "annualStatementStep");
+        List<String> sql = runAnnualStatement("sql", "annualStatementAggregateStep");
+
+        // Then
+        assertThat(sql).isEqualTo(jvm).hasSize(accounts);
+        assertThat(jvm).contains("101 100.10 25.55 150000.00", "102 0.00 10.00 50000.00");
+    }
+
+    /**
+     * Registra una ejecución FAILED del reporte diario cuyo step ya leyó en modo paralelo, como la
+     * dejaría una caída a mitad del archivo; lanzar el job con los mismos parámetros la reinicia.
+     */
+    private void recordFailedParallelExecution(JobParameters params) throws Exception {
+        JobExecution failed = jobRepository.createJobExecution("dailyTransactionsReportJob", params);
+        failed.setStartTime(LocalDateTime.now());
+        StepExecution step = failed.createStepExecution("dailyTransactionsStep");
+        step.setStartTime(LocalDateTime.now());
+        step.getExecutionContext().putString("transactionReader.unordered", "true");
+        jobRepository.add(step);
+        step.setStatus(BatchStatus.FAILED);
+        step.setEndTime(LocalDateTime.now());
+        jobRepository.update(step);
+        jobRepository.updateExecutionContext(step);
+        failed.setStatus(BatchStatus.FAILED);
+        failed.setEndTime(LocalDateTime.now());
+        jobRepository.update(failed);
+    }
+
+    private List<String> processedRows() {
+        return jdbcTemplate.queryForList("SELECT CONCAT_WS(' ', account_number, txn_date, amount, anomaly, dedup_key) "
+                + "FROM processed_transactions ORDER BY dedup_key, account_number, amount", String.class);
+    }
+
+    private List<String> runAnnualStatement(String engine, String expectedStep) throws Exception {
+        jdbcTemplate.update("DELETE FROM annual_statement");
+        JobExecution execution = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addString("run.year", "2025")
+                .addString("run.engine", engine)
+                .addLong("timestamp", System.nanoTime())
+                .toJobParameters());
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(execution.getStepExecutions()).extracting(StepExecution::getStepName).containsExactly(expectedStep);
+        return jdbcTemplate.query("SELECT account_number, total_deposits, total_withdrawals, end_balance "
+                        + "FROM annual_statement ORDER BY account_number",
+                (rs, i) -> rs.getString(1) + " " + rs.getBigDecimal(2).toPlainString()
+                        + " " + rs.getBigDecimal(3).toPlainString() + " " + rs.getBigDecimal(4).toPlainString());
+    }
+
+    private List<Account> seedAccountsForInterest() {
+        jdbcTemplate.update("DELETE FROM interest_ledger");
+        accountRepository.save(Account.builder()
+                .accountNumber("301")
+                .type("LOAN")
+                .balanceCents(-100L)
+                .annualInterestRate(0.06)
+                .build());
+        accountRepository.save(Account.builder()
+                .accountNumber("302")
+                .type("SAVINGS")
+                .balanceCents(300L)
+                .annualInterestRate(0.06)
+                .build());
+        return accountRepository.findAll();
+    }
+
+    private JobParameters monthlyInterestParameters(String engine) {
+        return new JobParametersBuilder()
+                .addString("run.period", "2025-08")
+                .addString("run.engine", engine)
+                .addLong("timestamp", System.nanoTime())
+                .toJobParameters();
+    }
+
+    private List<String> runMonthlyInterest(String engine, String expectedStep) throws Exception {
+        JobExecution execution = jobLauncherTestUtils.launchJob(monthlyInterestParameters(engine));
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(execution.getStepExecutions()).extracting(StepExecution::getStepName).contains(expectedStep);
+        List<String> rows = new ArrayList<>(jdbcTemplate.query(
+                "SELECT account_number, interest_amount, new_balance FROM interest_ledger ORDER BY account_number",
+                (rs, i) -> "ledger " + rs.getString(1) + " " + rs.getBigDecimal(2).toPlainString()
+                        + " " + rs.getBigDecimal(3).toPlainString()));
+        rows.addAll(jdbcTemplate.query("SELECT account_number, balance FROM accounts ORDER BY account_number",
+                (rs, i) -> "balance " + rs.getString(1) + " " + rs.getBigDecimal(2).toPlainString()));
+        return rows;
     }
 }
@@ -0,0 +1,53 @@
+package com.banco.batch.interest;
+
+import com.banco.batch.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountColumnsTest {
+
+    @Test
+    void computeInterest_FastPathBlock_ShouldMatchMoneyMonthlyInterest() {
+        // Given: saldos de hasta 10^11 y tasas DECIMAL(5,4), incluidos empates de medio centavo
+        Random random = new Random(42);
+        AccountColumns block = new AccountColumns(10_002);
+        block.add(1, "tie", 50, 1200);
+        block.add(2, "tie-negative", -150, 1200);
+        for (int i = 0; i < 10_000; i++) {
+            block.add(i + 3, "a" + i, random.nextLong() % 10_000_000_000_000L, random.nextInt(100_000));
+        }
+
+        // When
+        block.computeInterest();
+
+        // Then
+        assertMatchesMoney(block);
+    }
+
+    @Test
+    void computeInterest_BlockWithOverflowingProduct_ShouldUseExactPath() {
+        // Given: una cuenta cuyo saldo por tasa no entra en un long arrastra al bloque al camino exacto
+        AccountColumns block = new AccountColumns(3);
+        block.add(1, "small", 15_000_000L, 300);
+        block.add(2, "huge", Long.MAX_VALUE / 1_000, 99_999);
+        block.add(3, "min", Long.MIN_VALUE / 1_000, 1);
+
+        // When
+        block.computeInterest();
+
+        // Then
+        assertMatchesMoney(block);
+        assertThat(block.interestCents[0]).isEqualTo(37_500);
+    }
+
+    private static void assertMatchesMoney(AccountColumns block) {
+        for (int i = 0; i < block.size(); i++) {
+            long expected = Money.monthlyInterest(block.balanceCents[i], block.rateUnits[i]);
+            assertThat(block.interestCents[i]).as(block.accountNumbers[i]).isEqualTo(expected);
+            assertThat(block.newBalanceCents[i]).isEqualTo(block.balanceCents[i] + expected);
+        }
+    }
+}
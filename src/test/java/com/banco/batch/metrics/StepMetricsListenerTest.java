@@ -0,0 +1,47 @@
+package com.banco.batch.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StepMetricsListenerTest {
+
+    @Test
+    void chunks_ShouldBeTimedAndTaggedByJobStepAndPartition() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StepMetricsListener listener = new StepMetricsListener(registry);
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "dailyTransactionsReportJob"), 1L, new JobParameters());
+        StepExecution stepExecution = new StepExecution("dailyTransactionsRangeWorkerStep:range0", jobExecution, 5L);
+        ChunkContext chunk = new ChunkContext(new StepContext(stepExecution));
+
+        // When
+        listener.beforeStep(stepExecution);
+        listener.beforeChunk(chunk);
+        stepExecution.setWriteCount(100);
+        listener.afterChunk(chunk);
+        listener.beforeChunk(chunk);
+        listener.afterChunkError(chunk);
+        listener.afterStep(stepExecution);
+
+        // Then
+        Timer success = registry.get(StepMetricsListener.CHUNK_TIMER)
+                .tags("job", "dailyTransactionsReportJob", "step", "dailyTransactionsRangeWorkerStep",
+                        "partition", "range0", "outcome", "success")
+                .timer();
+        Timer error = registry.get(StepMetricsListener.CHUNK_TIMER).tags("outcome", "error").timer();
+        Gauge throughput = registry.get(StepMetricsListener.THROUGHPUT_GAUGE).tags("partition", "range0").gauge();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(error.count()).isEqualTo(1);
+        assertThat(throughput.value()).isPositive();
+    }
+}
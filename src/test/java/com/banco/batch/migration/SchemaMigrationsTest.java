@@ -0,0 +1,115 @@
+package com.banco.batch.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaMigrationsTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migrations_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void migrate_OnEmptyDatabase_ShouldApplyEveryVersionOnce() throws Exception {
+        // Given
+        Flyway flyway = flyway();
+
+        // When
+        int first = flyway.migrate().migrationsExecuted;
+        int second = flyway.migrate().migrationsExecuted;
+
+        // Then
+        assertThat(first).isEqualTo(scripts("h2").size() + 1); // + R__demo_accounts
+        assertThat(second).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES "
+                        + "WHERE TABLE_NAME = 'PROCESSED_TRANSACTIONS'", String.class))
+                .contains("IDX_PROCESSED_TXN_ACCOUNT_DATE");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class)).isEqualTo(12);
+    }
+
+    @Test
+    void migrate_OnDatabaseCreatedWithOriginalSchema_ShouldUpgradeItAndBackfillMonthlyTotals() {
+        // Given: una BD creada con el schema.sql original, con transacciones ingeridas
+        jdbcTemplate.execute("CREATE TABLE processed_transactions (id BIGINT PRIMARY KEY AUTO_INCREMENT, "
+                + "account_number VARCHAR(50) NOT NULL, txn_date DATE NOT NULL, amount DECIMAL(18,2) NOT NULL, "
+                + "category VARCHAR(50), anomaly BOOLEAN NOT NULL, message VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO processed_transactions (account_number, txn_date, amount, anomaly) VALUES "
+                + "('101', DATE '2024-12-31', 100.10, FALSE), ('101', DATE '2024-12-01', -25.55, TRUE), "
+                + "('101', DATE '2025-01-02', 7.00, FALSE)");
+
+        // When
+        flyway().migrate();
+
+        // Then: la BD sin historial se marca en la versión 0 y recibe todas las migraciones
+        assertThat(Arrays.stream(flyway().info().applied()).map(MigrationInfo::getVersion)
+                .filter(Objects::nonNull).map(Object::toString))
+                .startsWith("0", "1", "2");
+        assertThat(jdbcTemplate.queryForList("SELECT CONCAT_WS(' ', account_number, period_yyyymm, deposits, "
+                + "withdrawals, txn_count, anomaly_count) FROM account_monthly_totals ORDER BY period_yyyymm", String.class))
+                .containsExactly("101 2024-12 100.10 25.55 2 1", "101 2025-01 7.00 0.00 1 0");
+        jdbcTemplate.update("INSERT INTO processed_transactions (id, account_number, txn_date, amount, anomaly, dedup_key) "
+                + "VALUES (10, '101', DATE '2025-01-03', 1.00, FALSE, 'k')");
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO processed_transactions "
+                + "(id, account_number, txn_date, amount, anomaly, dedup_key) VALUES (11, '101', DATE '2025-01-03', 1.00, FALSE, 'k')"))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'PROCESSED_TRANSACTIONS' AND COLUMN_NAME = 'ID' AND IS_IDENTITY = 'YES'", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void scripts_ShouldHaveTheSameVersionsOnEveryVendor() throws Exception {
+        // When
+        List<String> h2 = versions("h2");
+
+        // Then
+        assertThat(h2).startsWith("1", "2");
+        assertThat(versions("mysql")).isEqualTo(h2);
+        assertThat(versions("postgresql")).isEqualTo(h2);
+    }
+
+    /**
+     * Misma configuración que spring.flyway en application.yml.
+     */
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private static List<String> versions(String vendor) throws IOException {
+        return scripts(vendor).stream().map(name -> name.substring(1, name.indexOf("__"))).toList();
+    }
+
+    private static List<String> scripts(String vendor) throws IOException {
+        return Arrays.stream(new PathMatchingResourcePatternResolver()
+                        .getResources("classpath:db/migration/" + vendor + "/V*__*.sql"))
+                .map(Resource::getFilename)
+                .sorted()
+                .toList();
+    }
+}
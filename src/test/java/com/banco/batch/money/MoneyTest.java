@@ -0,0 +1,66 @@
+package com.banco.batch.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyTest {
+
+    @Test
+    void divideHalfEven_ShouldRoundTiesToEvenQuotient() {
+        // Given / When / Then
+        assertThat(Money.divideHalfEven(5, 10)).isZero();
+        assertThat(Money.divideHalfEven(15, 10)).isEqualTo(2);
+        assertThat(Money.divideHalfEven(25, 10)).isEqualTo(2);
+        assertThat(Money.divideHalfEven(-25, 10)).isEqualTo(-2);
+        assertThat(Money.divideHalfEven(-35, 10)).isEqualTo(-4);
+        assertThat(Money.divideHalfEven(26, 10)).isEqualTo(3);
+        assertThat(Money.divideHalfEven(-24, 10)).isEqualTo(-2);
+    }
+
+    @Test
+    void monthlyInterest_ShouldMatchExactDecimalWithBankersRounding() {
+        // Given
+        long[] balances = {15_000_000L, -50_000_000L, -100L, 300L, 1L, 999_999_999_999L, -123_456_789L};
+        long[] rates = {300, 1200, 600, 600, 9999, 1250, 1100};
+
+        for (long balance : balances) {
+            for (long rate : rates) {
+                // When
+                long interest = Money.monthlyInterest(balance, rate);
+
+                // Then
+                BigDecimal expected = BigDecimal.valueOf(balance, 2)
+                        .multiply(BigDecimal.valueOf(rate, 4))
+                        .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_EVEN);
+                assertThat(Money.toDecimal(interest)).isEqualByComparingTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void monthlyInterest_ProductBeyondLong_ShouldFallBackToExactDivision() {
+        // Given: saldo cercano al máximo de DECIMAL(18,2)
+        long balance = 9_999_999_999_999_999L;
+
+        // When
+        long interest = Money.monthlyInterest(balance, 1200);
+
+        // Then
+        assertThat(interest).isEqualTo(100_000_000_000_000L);
+    }
+
+    @Test
+    void toCents_ShouldRoundExtraDecimalsHalfEvenAndRoundTrip() {
+        // Given / When / Then
+        assertThat(Money.toCents(new BigDecimal("1000.50"))).isEqualTo(100_050L);
+        assertThat(Money.toCents(new BigDecimal("0.125"))).isEqualTo(12L);
+        assertThat(Money.toCents(new BigDecimal("0.135"))).isEqualTo(14L);
+        assertThat(Money.toDecimal(-100_050L)).isEqualTo(new BigDecimal("-1000.50"));
+        assertThat(Money.rateUnits(0.035)).isEqualTo(350L);
+        assertThat(Money.rateUnits(null)).isZero();
+    }
+}
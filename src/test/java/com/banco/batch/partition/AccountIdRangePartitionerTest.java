@@ -0,0 +1,52 @@
+package com.banco.batch.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountIdRangePartitionerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void partition_ShouldCoverIdRangeWithContiguousNonOverlappingRanges() {
+        // Given: ids del 11 al 110
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(Map.of("min_id", 11L, "max_id", 110L));
+
+        // When
+        Map<String, ExecutionContext> partitions = new AccountIdRangePartitioner(jdbcTemplate).partition(3);
+
+        // Then
+        assertThat(partitions).hasSize(3);
+        long expectedStart = 11;
+        for (ExecutionContext context : partitions.values()) {
+            assertThat(context.getLong("minId")).isEqualTo(expectedStart);
+            expectedStart = context.getLong("maxId") + 1;
+        }
+        assertThat(expectedStart).isEqualTo(111);
+    }
+
+    @Test
+    void partition_EmptyTable_ShouldReturnNoPartitions() {
+        // Given
+        Map<String, Object> bounds = new HashMap<>();
+        bounds.put("min_id", null);
+        bounds.put("max_id", null);
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(bounds);
+
+        // When / Then
+        assertThat(new AccountIdRangePartitioner(jdbcTemplate).partition(4)).isEmpty();
+    }
+}
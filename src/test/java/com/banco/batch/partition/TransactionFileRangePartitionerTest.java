@@ -0,0 +1,70 @@
+package com.banco.batch.partition;
+
+import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.reader.MappedTransactionReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionFileRangePartitionerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void partition_ShouldCoverEveryLineExactlyOnce() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder("id,fecha,monto,tipo\n");
+        for (int i = 1; i <= 1000; i++) {
+            csv.append(i).append(",2025-08-01,").append(i * 10).append(",credito\n");
+        }
+        Path file = tempDir.resolve("transactions_2025-08-01.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        // When
+        Map<String, ExecutionContext> partitions =
+                new TransactionFileRangePartitioner(file, file.getFileName().toString()).partition(7);
+
+        // Then
+        assertThat(partitions).hasSize(7);
+        List<String> ids = new ArrayList<>();
+        long expectedStart = 0;
+        for (ExecutionContext context : partitions.values()) {
+            assertThat(context.getLong("start")).isEqualTo(expectedStart);
+            expectedStart = context.getLong("end");
+            ids.addAll(readRange(file, context.getLong("start"), context.getLong("end"), context.getLong("firstLine")));
+        }
+        assertThat(expectedStart).isEqualTo(Files.size(file));
+        assertThat(ids).hasSize(1000).doesNotHaveDuplicates();
+    }
+
+    private List<String> readRange(Path file, long start, long end, long firstLine) throws Exception {
+        MappedTransactionReader reader = reader(file, start, end);
+        reader.setFirstLine(firstLine);
+        reader.open(new ExecutionContext());
+        List<String> ids = new ArrayList<>();
+        TransactionRecord record;
+        while ((record = reader.read()) != null) {
+            // La fila i está en la línea física i + 1 (la 1 es el encabezado)
+            assertThat(record.getLinea()).isEqualTo(Long.parseLong(record.getId()) + 1);
+            ids.add(record.getId());
+        }
+        reader.close();
+        return ids;
+    }
+
+    private MappedTransactionReader reader(Path file, long start, long end) {
+        MappedTransactionReader reader = new MappedTransactionReader(file, start, end);
+        reader.setName("test");
+        return reader;
+    }
+}
@@ -1,15 +1,24 @@
 package com.banco.batch.processor;
 
+import com.banco.batch.anomaly.AnomalyAccumulator;
+import com.banco.batch.cache.AccountSnapshotCache;
+import com.banco.batch.cache.AccountSnapshotRegistry;
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.dedup.IngestedKeysRegistry;
+import com.banco.batch.dedup.TransactionDeduplicator;
+import com.banco.batch.id.IdBlockAllocator;
 import com.banco.batch.model.Account;
 import com.banco.batch.model.ProcessedTransaction;
 import com.banco.batch.model.TransactionRecord;
+import com.banco.batch.processor.rules.TransactionRule;
 import com.banco.batch.repository.AccountRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.Optional;
 
@@ -22,18 +31,30 @@ class DailyTransactionProcessorTest {
     @Mock
     private AccountRepository accountRepository;
 
-    @InjectMocks
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private IdBlockAllocator idAllocator;
+
     private DailyTransactionProcessor processor;
 
     private Account testAccount;
 
     @BeforeEach
     void setUp() {
+        // Colaboradores reales fuera de un step: sin snapshot de cuentas ni filtro de claves cargados
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        processor = new DailyTransactionProcessor(accountRepository,
+                new AccountSnapshotCache(accountRepository, jdbcTemplate, props, new AccountSnapshotRegistry()),
+                new StaticListableBeanFactory().getBeanProvider(TransactionRule.class),
+                new AnomalyAccumulator(jdbcTemplate, idAllocator, props),
+                new TransactionDeduplicator(jdbcTemplate, props, new IngestedKeysRegistry()));
         testAccount = Account.builder()
                 .id(1L)
                 .accountNumber("ACC-1001")
                 .type("SAVINGS")
-                .balance(150000.0)
+                .balanceCents(15_000_000L)
                 .annualInterestRate(0.03)
                 .build();
     }
@@ -59,7 +80,7 @@ class DailyTransactionProcessorTest {
         assertThat(result.getAnomaly()).isFalse();
         assertThat(result.getMessage()).isNull();
         assertThat(result.getAccountNumber()).isEqualTo("1");
-        assertThat(result.getAmount()).isEqualTo(5000.0);
+        assertThat(result.getAmountCents()).isEqualTo(500_000L);
         assertThat(result.getCategory()).isEqualTo("credito");
     }
 
@@ -127,6 +148,7 @@ class DailyTransactionProcessorTest {
         assertThat(result).isNotNull();
         assertThat(result.getAnomaly()).isTrue();
         assertThat(result.getMessage()).contains("Formato de fecha inválido");
+        assertThat(result.getTxnDate().toLocalDate()).isEqualTo(DailyTransactionProcessor.UNKNOWN_DATE);
     }
 
     @Test
@@ -268,7 +290,7 @@ class DailyTransactionProcessorTest {
                 .id(2L)
                 .accountNumber("2")
                 .type("LOAN")
-                .balance(-500000.0)
+                .balanceCents(-50_000_000L)
                 .annualInterestRate(0.12)
                 .build();
 
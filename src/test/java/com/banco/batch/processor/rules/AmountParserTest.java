@@ -0,0 +1,42 @@
+package com.banco.batch.processor.rules;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmountParserTest {
+
+    @Test
+    void parseCents_PlainDecimals_ShouldUseFixedPoint() {
+        assertThat(AmountParser.parseCents("5000")).isEqualTo(500_000L);
+        assertThat(AmountParser.parseCents("1000.50")).isEqualTo(100_050L);
+        assertThat(AmountParser.parseCents("-500.75")).isEqualTo(-50_075L);
+        assertThat(AmountParser.parseCents("+.5")).isEqualTo(50L);
+        assertThat(AmountParser.parseCents("7.")).isEqualTo(700L);
+    }
+
+    @Test
+    void parseCents_ExtraDecimalsOrExponent_ShouldRoundHalfEven() {
+        assertThat(AmountParser.parseCents("10.005")).isEqualTo(1_000L);
+        assertThat(AmountParser.parseCents("10.015")).isEqualTo(1_002L);
+        assertThat(AmountParser.parseCents("1e3")).isEqualTo(100_000L);
+    }
+
+    @Test
+    void parseCents_NotANumber_ShouldThrow() {
+        assertThatThrownBy(() -> AmountParser.parseCents("abc")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> AmountParser.parseCents("-")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> AmountParser.parseCents("NaN")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void parseCents_HugeExponent_ShouldThrowWithoutRescaling() {
+        assertThatThrownBy(() -> AmountParser.parseCents("1e999999999")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> AmountParser.parseCents("-1e999999999")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> AmountParser.parseCents("1e-999999999")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> AmountParser.parseCents("1e20")).isInstanceOf(NumberFormatException.class);
+        assertThat(AmountParser.parseCents("1e-5")).isZero();
+        assertThat(AmountParser.parseCents("1e18")).isEqualTo(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,89 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.TransactionRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.core.io.Resource;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipResourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LegacyCsvProperties props;
+    private TransactionFlatFileReader readerFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        props = new LegacyCsvProperties();
+        props.getFiles().setInputDir(tempDir.toString());
+        // Bloques chicos para que las líneas crucen el borde de los bloques descomprimidos
+        props.getFiles().setReadAheadBlockKb(1);
+        props.getColumns().setId("id");
+        props.getColumns().setFecha("fecha");
+        props.getColumns().setMonto("monto");
+        props.getColumns().setTipo("tipo");
+        readerFactory = new TransactionFlatFileReader(props, new LegacyFileLocator(props));
+
+        StringBuilder csv = new StringBuilder("id,fecha,monto,tipo\n");
+        for (int i = 1; i <= 500; i++) {
+            csv.append(i).append(",2025-08-01,").append(i * 10).append(",credito\n");
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempDir.resolve("transactions_2025-08-01.csv.gz")))) {
+            out.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void resolve_ShouldFallBackToGzipWhenPlainCsvIsMissing() throws Exception {
+        // When
+        Resource resource = new LegacyFileLocator(props).resolve("transactions_2025-08-01.csv");
+        List<String> ids = readAll(resource.getFilename(), new ExecutionContext(), Integer.MAX_VALUE);
+
+        // Then
+        assertThat(resource).isInstanceOf(GzipResource.class);
+        assertThat(resource.isFile()).isFalse();
+        assertThat(ids).hasSize(500).startsWith("1", "2").endsWith("500");
+    }
+
+    @Test
+    void open_ShouldRestartFromRecordCheckpoint() throws Exception {
+        // Given: primera ejecución interrumpida tras 120 registros
+        ExecutionContext context = new ExecutionContext();
+        List<String> firstRun = readAll("transactions_2025-08-01.csv", context, 120);
+
+        // When
+        List<String> secondRun = readAll("transactions_2025-08-01.csv", context, Integer.MAX_VALUE);
+
+        // Then
+        assertThat(firstRun).hasSize(120).endsWith("120");
+        assertThat(secondRun).hasSize(380).startsWith("121").endsWith("500");
+    }
+
+    private List<String> readAll(String fileName, ExecutionContext context, int limit) throws Exception {
+        ItemStreamReader<TransactionRecord> reader = readerFactory.open(fileName, true);
+        reader.open(context);
+        List<String> ids = new ArrayList<>();
+        TransactionRecord record;
+        while (ids.size() < limit && (record = reader.read()) != null) {
+            ids.add(record.getId());
+        }
+        reader.update(context);
+        reader.close();
+        return ids;
+    }
+}
@@ -0,0 +1,112 @@
+package com.banco.batch.reader;
+
+import com.banco.batch.model.TransactionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedTransactionReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_ShouldParseFieldsLikeFlatFileReader() throws Exception {
+        // Given
+        Path file = write("id,fecha,monto,tipo\n 1 ,2025-08-01,\"1,000.50\",credito\n\n,2025-08-01,,\n");
+        MappedTransactionReader reader = open(file, new ExecutionContext());
+
+        // When
+        TransactionRecord first = reader.read();
+        TransactionRecord second = reader.read();
+        TransactionRecord end = reader.read();
+        reader.close();
+
+        // Then
+        assertThat(first.getAccountNumber()).isEqualTo("1");
+        assertThat(first.getAmount()).isEqualTo("1,000.50");
+        assertThat(first.getCategory()).isEqualTo("credito");
+        assertThat(second.getId()).isEmpty();
+        assertThat(second.getMonto()).isEmpty();
+        assertThat(second.getTipo()).isEmpty();
+        assertThat(end).isNull();
+    }
+
+    @Test
+    void read_LinesCrossingMapWindow_ShouldRemapWithoutLosingRows() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder("id,fecha,monto,tipo\n");
+        for (int i = 1; i <= 500; i++) {
+            csv.append(i).append(",2025-08-01,").append(i).append(".25,debito\n");
+        }
+        Path file = write(csv.toString());
+        MappedTransactionReader reader = new MappedTransactionReader(file, 0, Long.MAX_VALUE, 100);
+        reader.setName("test");
+        reader.open(new ExecutionContext());
+
+        // When
+        List<String> ids = new ArrayList<>();
+        TransactionRecord record;
+        while ((record = reader.read()) != null) {
+            ids.add(record.getId());
+        }
+        reader.close();
+
+        // Then
+        assertThat(ids).hasSize(500).startsWith("1", "2").endsWith("500");
+    }
+
+    @Test
+    void read_ShouldRestartFromSavedOffset() throws Exception {
+        // Given
+        Path file = write("id,fecha,monto,tipo\r\n1,2025-08-01,10,credito\r\n2,2025-08-01,20,debito\r\n");
+        ExecutionContext context = new ExecutionContext();
+        MappedTransactionReader first = open(file, context);
+        first.read();
+        first.update(context);
+        first.close();
+
+        // When
+        MappedTransactionReader restarted = open(file, context);
+        TransactionRecord next = restarted.read();
+        restarted.close();
+
+        // Then
+        assertThat(next.getId()).isEqualTo("2");
+        assertThat(next.getTipo()).isEqualTo("debito");
+    }
+
+    @Test
+    void read_WrongFieldCount_ShouldThrowParseException() throws Exception {
+        // Given
+        Path file = write("id,fecha,monto,tipo\n1,2025-08-01,10\n2,2025-08-01,20,debito\n");
+        MappedTransactionReader reader = open(file, new ExecutionContext());
+
+        // When / Then
+        assertThatThrownBy(reader::read).isInstanceOf(FlatFileParseException.class);
+        assertThat(reader.read().getId()).isEqualTo("2");
+        reader.close();
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = tempDir.resolve("transactions.csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private MappedTransactionReader open(Path file, ExecutionContext context) {
+        MappedTransactionReader reader = new MappedTransactionReader(file);
+        reader.setName("test");
+        reader.open(context);
+        return reader;
+    }
+}
@@ -0,0 +1,57 @@
+package com.banco.batch.reader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadAheadInputStreamTest {
+
+    @Test
+    @Timeout(10)
+    void read_SourceThrowingRuntimeException_ShouldFailInsteadOfHanging() throws Exception {
+        // Given: un origen que entrega 3 bytes y después falla con una excepción no declarada
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("Bloque gzip corrupto");
+            }
+        };
+        InputStream source = new SequenceInputStream(new ByteArrayInputStream(new byte[] {1, 2, 3}), failing);
+
+        try (ReadAheadInputStream in = new ReadAheadInputStream(source, 1, 1, "read-ahead-test")) {
+            // When / Then: los bytes anteriores se leen y el error llega como IOException
+            assertThat(in.read()).isEqualTo(1);
+            assertThatThrownBy(in::readAllBytes)
+                    .isInstanceOf(IOException.class)
+                    .hasRootCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("Bloque gzip corrupto");
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void read_ShouldDeliverEveryBlockThenEof() throws Exception {
+        // Given
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        // When
+        byte[] read;
+        try (ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), 1024, 2, "read-ahead-test")) {
+            read = in.readAllBytes();
+            assertThat(in.read()).isEqualTo(-1);
+        }
+
+        // Then
+        assertThat(read).isEqualTo(data);
+    }
+}
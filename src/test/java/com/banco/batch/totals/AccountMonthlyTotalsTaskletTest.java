@@ -0,0 +1,168 @@
+package com.banco.batch.totals;
+
+import com.banco.batch.model.ProcessedTransaction;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccountMonthlyTotalsTaskletTest {
+
+    private final JobInstance instance = new JobInstance(1L, "dailyTransactionsReportJob");
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final MonthlyTotalsDeltas deltas = new MonthlyTotalsDeltas();
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountMonthlyTotalsTasklet tasklet;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:totals_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        tasklet = new AccountMonthlyTotalsTasklet(jdbcTemplate, jobExplorer, deltas, 2,
+                AccountMonthlyTotalsTasklet.MERGE_SQL);
+
+        insert(1, "101", "2025-08-01", "100.10", false);
+        insert(2, "101", "2025-08-31", "-25.55", true);
+        insert(3, "101", "2025-09-01", "7.00", false);
+        insert(4, "102", "2025-08-15", "-10.00", false);
+    }
+
+    @Test
+    void sql_ShouldSeparateEveryClauseWithWhitespace() {
+        // H2 acepta "?GROUP BY", PostgreSQL 15+ no: ninguna palabra clave pegada al token anterior
+        assertThat(List.of(AccountMonthlyTotalsTasklet.DELETE_SQL, AccountMonthlyTotalsTasklet.INSERT_SQL,
+                AccountMonthlyTotalsTasklet.UPSERT_SQL, AccountMonthlyTotalsTasklet.POSTGRES_UPSERT_SQL,
+                AccountMonthlyTotalsTasklet.MERGE_SQL))
+                .allSatisfy(sql -> assertThat(sql)
+                        .doesNotContainPattern("[^\\s(](SELECT|FROM|WHERE|GROUP BY|AND|CASE|WHEN|THEN|ELSE|END|ON|SET)\\b"));
+    }
+
+    @Test
+    void execute_OnFirstExecution_ShouldAddOnlyTheCommittedChunksToExistingTotals() throws Exception {
+        // Given: totales al día, y una ejecución con un chunk confirmado y otro revertido
+        tasklet.rebuild(YearMonth.of(2025, 8));
+        tasklet.rebuild(YearMonth.of(2025, 9));
+        JobExecution execution = execution(7L);
+        IngestedMonthsTracker tracker = tracker(execution);
+        tracker.beforeChunk(null);
+        tracker.afterWrite(Chunk.of(txn("101", "2025-08-20", 1_000, true), txn("103", "2025-09-02", -500, false)));
+        tracker.afterChunk(null);
+        tracker.beforeChunk(null);
+        tracker.afterWrite(Chunk.of(txn("102", "2025-08-20", 9_999, false)));
+        tracker.afterChunkError(null);
+        when(jobExplorer.getJobExecutions(instance)).thenReturn(List.of(execution));
+
+        // When: el step se ejecuta dos veces en la misma JobExecution
+        tasklet.execute(null, chunkContext(execution));
+        tasklet.execute(null, chunkContext(execution));
+
+        // Then: los deltas se suman una sola vez y sólo a los pares escritos
+        assertThat(totals()).containsExactly(
+                "101 2025-08 110.10 25.55 3 2",
+                "101 2025-09 7.00 0.00 1 0",
+                "102 2025-08 0.00 10.00 1 0",
+                "103 2025-09 0.00 5.00 1 0");
+    }
+
+    @Test
+    void execute_OnRestart_ShouldRebuildTheMonthsOfEveryExecution() throws Exception {
+        // Given: la ejecución fallida tocó 2025-08 y el restart 2025-09; los totales quedaron viejos
+        JobExecution failed = execution(7L);
+        tracker(failed).afterWrite(Chunk.of(txn("101", "2025-08-01", 10_010, false)));
+        JobExecution restart = execution(8L);
+        tracker(restart).afterWrite(Chunk.of(txn("101", "2025-09-01", 700, false)));
+        jdbcTemplate.update("INSERT INTO account_monthly_totals VALUES ('101', '2025-08', 1.00, 0, 1, 0)");
+        when(jobExplorer.getJobExecutions(instance)).thenReturn(List.of(restart, failed));
+
+        // When
+        tasklet.execute(null, chunkContext(restart));
+
+        // Then
+        assertThat(totals()).containsExactly(
+                "101 2025-08 100.10 25.55 2 1",
+                "101 2025-09 7.00 0.00 1 0",
+                "102 2025-08 0.00 10.00 1 0");
+    }
+
+    @Test
+    void rebuild_ShouldSummarizeOnlyTheMonthPerAccount() {
+        // When
+        int accounts = tasklet.rebuild(YearMonth.of(2025, 8));
+
+        // Then
+        assertThat(accounts).isEqualTo(2);
+        assertThat(totals()).containsExactly(
+                "101 2025-08 100.10 25.55 2 1",
+                "102 2025-08 0.00 10.00 1 0");
+    }
+
+    @Test
+    void rebuild_RunTwiceAfterMoreRows_ShouldReplaceNotAccumulate() {
+        // Given
+        tasklet.rebuild(YearMonth.of(2025, 8));
+        insert(5, "102", "2025-08-20", "50.00", false);
+
+        // When
+        tasklet.rebuild(YearMonth.of(2025, 8));
+        tasklet.rebuild(YearMonth.of(2025, 8));
+
+        // Then
+        assertThat(totals()).containsExactly(
+                "101 2025-08 100.10 25.55 2 1",
+                "102 2025-08 50.00 10.00 2 0");
+    }
+
+    private JobExecution execution(long id) {
+        JobExecution execution = new JobExecution(instance, id, new JobParameters());
+        execution.createStepExecution("dailyTransactionsStep");
+        return execution;
+    }
+
+    private IngestedMonthsTracker tracker(JobExecution execution) {
+        IngestedMonthsTracker tracker = new IngestedMonthsTracker(deltas);
+        tracker.beforeStep(execution.getStepExecutions().iterator().next());
+        return tracker;
+    }
+
+    private static ChunkContext chunkContext(JobExecution execution) {
+        StepExecution step = execution.createStepExecution("accountMonthlyTotalsStep");
+        return new ChunkContext(new StepContext(step));
+    }
+
+    private static ProcessedTransaction txn(String account, String date, long amountCents, boolean anomaly) {
+        return ProcessedTransaction.builder().accountNumber(account).txnDate(Date.valueOf(date))
+                .amountCents(amountCents).anomaly(anomaly).build();
+    }
+
+    private void insert(long id, String account, String date, String amount, boolean anomaly) {
+        jdbcTemplate.update("INSERT INTO processed_transactions (id, account_number, txn_date, amount, anomaly, dedup_key) "
+                + "VALUES (?, ?, DATE '" + date + "', " + amount + ", ?, ?)", id, account, anomaly, "k" + id);
+    }
+
+    private List<String> totals() {
+        return jdbcTemplate.query("SELECT * FROM account_monthly_totals ORDER BY account_number, period_yyyymm",
+                (rs, i) -> rs.getString("account_number") + " " + rs.getString("period_yyyymm") + " "
+                        + rs.getBigDecimal("deposits") + " " + rs.getBigDecimal("withdrawals") + " "
+                        + rs.getLong("txn_count") + " " + rs.getLong("anomaly_count"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.banco.batch.web;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.job.DefaultJobParametersValidator;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncJobLauncherTest {
+
+    @Test
+    void run_WithExecutorFull_ShouldRejectWithoutCreatingAnExecution() throws Exception {
+        // Given: un hilo, sin cola, y un executor que retiene los jobs sin correrlos
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getLauncher().setThreads(1);
+        props.getLauncher().setQueueCapacity(0);
+        List<Runnable> submitted = new ArrayList<>();
+        JobRepository jobRepository = mock(JobRepository.class);
+        when(jobRepository.createJobExecution(eq("job"), any())).thenAnswer(inv ->
+                new JobExecution(new JobInstance(1L, "job"), 1L, inv.getArgument(1)));
+        Job job = mock(Job.class);
+        when(job.getName()).thenReturn("job");
+        when(job.getJobParametersValidator()).thenReturn(new DefaultJobParametersValidator());
+        AsyncJobLauncher launcher = new AsyncJobLauncher(jobRepository, submitted::add, props);
+
+        // When
+        launcher.run(job, params(1));
+
+        // Then: el segundo pedido se rechaza sin registrar otra ejecución
+        assertThatThrownBy(() -> launcher.run(job, params(2))).isInstanceOf(TaskRejectedException.class);
+        verify(jobRepository, times(1)).createJobExecution(eq("job"), any());
+
+        // Y al terminar el job el lugar se libera
+        submitted.get(0).run();
+        assertThat(launcher.run(job, params(3))).isNotNull();
+        verify(jobRepository, times(2)).createJobExecution(eq("job"), any());
+    }
+
+    private static JobParameters params(long n) {
+        return new JobParametersBuilder().addLong("n", n).toJobParameters();
+    }
+}
@@ -0,0 +1,59 @@
+package com.banco.batch.writer;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.id.IdBlockAllocator;
+import com.banco.batch.model.ProcessedTransaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcProcessedTransactionWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private IdBlockAllocator idAllocator;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldAssignIdsAndBatchInsertWithConfiguredBatchSize() {
+        // Given
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getWriter().setBatchSize(250);
+        JdbcProcessedTransactionWriter writer = new JdbcProcessedTransactionWriter(jdbcTemplate, idAllocator, props);
+        when(idAllocator.next("processed_transactions")).thenReturn(1001L);
+
+        ProcessedTransaction tx = ProcessedTransaction.builder()
+                .accountNumber("ACC-1001")
+                .txnDate(Date.valueOf(LocalDate.now()))
+                .amountCents(500_000L)
+                .category("credito")
+                .anomaly(false)
+                .build();
+        List<ProcessedTransaction> transactions = List.of(tx);
+
+        // When
+        writer.write(new Chunk<>(transactions));
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(eq(JdbcProcessedTransactionWriter.INSERT_SQL), eq(transactions), eq(250),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(tx.getId()).isEqualTo(1001L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.banco.batch.writer;
+
+import com.banco.batch.config.LegacyCsvProperties;
+import com.banco.batch.model.InterestLedger;
+import com.banco.batch.repository.InterestLedgerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyInterestWriterTest {
+
+    @Mock
+    private InterestLedgerRepository ledgerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldSaveLedgerAndBatchUpdateBalancesWithoutLoadingAccounts() throws Exception {
+        // Given
+        LegacyCsvProperties props = new LegacyCsvProperties();
+        props.getWriter().setBatchSize(250);
+        MonthlyInterestWriter writer = new MonthlyInterestWriter(ledgerRepository, jdbcTemplate, props);
+        InterestLedger ledger = InterestLedger.builder()
+                .accountNumber("ACC-1001")
+                .periodYyyymm("2025-08")
+                .interestCents(37_500L)
+                .newBalanceCents(15_037_500L)
+                .build();
+        List<InterestLedger> items = List.of(ledger);
+
+        // When
+        writer.write(new Chunk<>(items));
+
+        // Then
+        verify(ledgerRepository).saveAll(items);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<InterestLedger>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(MonthlyInterestWriter.UPDATE_BALANCE_SQL), eq(items), eq(250), setter.capture());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, ledger);
+        verify(ps).setBigDecimal(1, new BigDecimal("150375.00"));
+        verify(ps).setString(2, "ACC-1001");
+    }
+}
@@ -31,7 +31,7 @@ class ProcessedTransactionWriterTest {
         ProcessedTransaction tx1 = ProcessedTransaction.builder()
                 .accountNumber("ACC-1001")
                 .txnDate(Date.valueOf(LocalDate.now()))
-                .amount(5000.0)
+                .amountCents(500_000L)
                 .category("DEPOSIT")
                 .anomaly(false)
                 .message(null)
@@ -40,7 +40,7 @@ class ProcessedTransactionWriterTest {
         ProcessedTransaction tx2 = ProcessedTransaction.builder()
                 .accountNumber("ACC-2001")
                 .txnDate(Date.valueOf(LocalDate.now()))
-                .amount(-1000.0)
+                .amountCents(-100_000L)
                 .category("WITHDRAWAL")
                 .anomaly(true)
                 .message("Test anomaly")